@@ -0,0 +1,52 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.benchmarks;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Baseline lässt alle Benchmarks (oder die zum regulären Ausdruck) laufen und schreibt die Ergebnisse als JSON, so dass man sie
+ * mit {@link Vergleich} einem früheren Release gegenüberstellen kann:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar de.egladil.web.checklistenserver.benchmarks.Baseline results/7.2.0.json [regexp]
+ * </pre>
+ */
+public final class Baseline {
+
+	private Baseline() {
+
+	}
+
+	public static void main(final String[] args) throws RunnerException {
+
+		if (args.length < 1) {
+
+			System.err.println("Aufruf: Baseline <ergebnis.json> [regexp]");
+			System.exit(1);
+		}
+
+		File ergebnis = new File(args[0]);
+
+		if (ergebnis.getParentFile() != null) {
+
+			ergebnis.getParentFile().mkdirs();
+		}
+
+		Options options = new OptionsBuilder()
+			.include(args.length > 1 ? args[1] : "de\\.egladil\\.web\\.checklistenserver\\..*Benchmark.*")
+			.resultFormat(ResultFormatType.JSON)
+			.result(ergebnis.getPath())
+			.build();
+
+		new Runner(options).run();
+	}
+}
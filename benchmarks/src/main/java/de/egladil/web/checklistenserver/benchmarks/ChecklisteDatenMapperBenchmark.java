@@ -0,0 +1,77 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.egladil.web.checklistenserver.domain.Checkliste;
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.service.ChecklisteDatenMapper;
+
+/**
+ * ChecklisteDatenMapperBenchmark vergleicht den ChecklisteDatenMapper mit einem neuen ObjectMapper pro Aufruf (so, wie es bis
+ * 7.1.3 war).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChecklisteDatenMapperBenchmark {
+
+	@Param({ "10", "100", "999" })
+	int anzahlItems;
+
+	private Checkliste checkliste;
+
+	private ChecklisteDaten daten;
+
+	@Setup
+	public void setUp() {
+
+		checkliste = Testdaten.createCheckliste(anzahlItems);
+		daten = Testdaten.createChecklisteDaten(anzahlItems);
+	}
+
+	@Benchmark
+	public ChecklisteDaten deserialize() {
+
+		return ChecklisteDatenMapper.deserialize(checkliste, "Benchmark");
+	}
+
+	@Benchmark
+	public ChecklisteDaten deserializeNeuerObjectMapper() throws IOException {
+
+		return new ObjectMapper().readValue(checkliste.getDaten().getBytes(), ChecklisteDaten.class);
+	}
+
+	@Benchmark
+	public String serialize() {
+
+		return ChecklisteDatenMapper.serialize(daten, "Benchmark");
+	}
+
+	@Benchmark
+	public String serializeNeuerObjectMapper() throws IOException {
+
+		return new ObjectMapper().writeValueAsString(daten);
+	}
+}
@@ -0,0 +1,102 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.egladil.web.checklistenserver.config.AbstractListeTemplate;
+
+/**
+ * ListeTemplateBenchmark misst das Lesen einer Template-Datei. Ohne CDI wird der DirectoryWatcher nicht gestartet, so dass
+ * getSortierteNamen wie bei abgeschaltetem Cache jedes Mal die Datei liest und sortiert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListeTemplateBenchmark {
+
+	private static final String GRUPPE = "benchmark";
+
+	@Param({ "10", "100", "999" })
+	int anzahlItems;
+
+	private Path dir;
+
+	private AbstractListeTemplate template;
+
+	@Setup
+	public void setUp() throws IOException {
+
+		dir = Files.createTempDirectory("listentemplates");
+		template = new BenchmarkListeTemplate(dir);
+
+		String inhalt = String.join(System.lineSeparator(), Testdaten.createNamen(anzahlItems));
+		Files.write(dir.resolve(GRUPPE + BenchmarkListeTemplate.SUFFIX), inhalt.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+
+		FileUtils.deleteDirectory(dir.toFile());
+	}
+
+	@Benchmark
+	public String[] getListeTemplate() {
+
+		return template.getListeTemplate(GRUPPE);
+	}
+
+	@Benchmark
+	public List<String> getSortierteNamen() {
+
+		return template.getSortierteNamen(GRUPPE);
+	}
+
+	static class BenchmarkListeTemplate extends AbstractListeTemplate {
+
+		static final String SUFFIX = "_liste.txt";
+
+		private final String pathTemplateDir;
+
+		BenchmarkListeTemplate(final Path dir) {
+
+			this.pathTemplateDir = dir.toString();
+		}
+
+		@Override
+		protected String getPathTemplateDir() {
+
+			return pathTemplateDir;
+		}
+
+		@Override
+		protected String getSuffixFilename() {
+
+			return SUFFIX;
+		}
+	}
+}
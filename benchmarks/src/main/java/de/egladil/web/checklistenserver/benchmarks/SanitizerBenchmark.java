@@ -0,0 +1,101 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.owasp.encoder.Encode;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.sanitize.ChecklisteDatenSanitizer;
+import de.egladil.web.checklistenserver.sanitize.HtmlEncoder;
+
+/**
+ * SanitizerBenchmark misst den ChecklisteDatenSanitizer auf noch nicht sanitierten Daten und vergleicht den HtmlEncoder mit dem
+ * OWASP-Encoder, den er bei harmlosen Texten umgeht.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SanitizerBenchmark {
+
+	@Param({ "10", "100", "999" })
+	int anzahlItems;
+
+	private final ChecklisteDatenSanitizer sanitizer = new ChecklisteDatenSanitizer();
+
+	private ChecklisteDaten daten;
+
+	private String[] texte;
+
+	@Setup
+	public void setUpTexte() {
+
+		ChecklisteDaten vorlage = Testdaten.createChecklisteDaten(anzahlItems);
+		texte = new String[2 * anzahlItems];
+
+		for (int i = 0; i < anzahlItems; i++) {
+
+			texte[2 * i] = vorlage.getItems().get(i).getName();
+			texte[2 * i + 1] = vorlage.getItems().get(i).getKommentar();
+		}
+	}
+
+	/**
+	 * Der Sanitizer ändert die Daten und markiert sie als sanitiert. Daher je Aufruf neue Daten, deren Erzeugung nicht mitgemessen
+	 * wird. Bei 10 Items ist der Overhead von Level.Invocation im Ergebnis noch zu sehen.
+	 */
+	@Setup(Level.Invocation)
+	public void setUpDaten() {
+
+		daten = Testdaten.createChecklisteDaten(anzahlItems);
+	}
+
+	@Benchmark
+	public ChecklisteDaten sanitize() {
+
+		return sanitizer.apply(daten);
+	}
+
+	@Benchmark
+	public void htmlEncoder(final Blackhole blackhole) {
+
+		for (String text : texte) {
+
+			if (text != null) {
+
+				blackhole.consume(HtmlEncoder.forHtml(text));
+			}
+		}
+	}
+
+	@Benchmark
+	public void owaspEncoder(final Blackhole blackhole) {
+
+		for (String text : texte) {
+
+			if (text != null) {
+
+				blackhole.consume(Encode.forHtml(text));
+			}
+		}
+	}
+}
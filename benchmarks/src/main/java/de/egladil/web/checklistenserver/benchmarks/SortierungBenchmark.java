@@ -0,0 +1,121 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.benchmarks;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.egladil.web.checklistenserver.config.AbstractListeTemplate;
+import de.egladil.web.checklistenserver.domain.ChecklisteTemplate;
+import de.egladil.web.checklistenserver.domain.ChecklisteTemplateItem;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+
+/**
+ * SortierungBenchmark vergleicht das Sortieren der Templates über CollationKeys mit dem Comparator bis 7.1.3, der bei jedem
+ * Vergleich einen neuen Collator erzeugt hat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortierungBenchmark {
+
+	@Param({ "10", "100", "999" })
+	int anzahlItems;
+
+	private String[] namen;
+
+	@Setup
+	public void setUp() {
+
+		namen = Testdaten.createNamen(anzahlItems);
+	}
+
+	@Benchmark
+	public ChecklisteTemplate sortItems() {
+
+		// neue Items: der Sortierschlüssel wird, wie im Betrieb, einmal je Item berechnet.
+		ChecklisteTemplate template = createTemplate();
+		template.sortItems();
+		return template;
+	}
+
+	@Benchmark
+	public ChecklisteTemplate sortItemsAlterComparator() {
+
+		ChecklisteTemplate template = createTemplate();
+		Collections.sort(template.getItems(), new AlterComparator());
+		return template;
+	}
+
+	@Benchmark
+	public List<String> sortiereNamen() {
+
+		return AbstractListeTemplate.sortiereNamen(namen);
+	}
+
+	private ChecklisteTemplate createTemplate() {
+
+		List<ChecklisteTemplateItem> items = new ArrayList<>(namen.length);
+
+		for (String name : namen) {
+
+			items.add(ChecklisteTemplateItem.create(name, Checklistentyp.PACKLISTE));
+		}
+
+		return ChecklisteTemplate.create(Checklistentyp.PACKLISTE, items, 0L);
+	}
+
+	/**
+	 * Der ChecklisteTemplateItemComparator bis 7.1.3.
+	 */
+	static class AlterComparator implements Comparator<ChecklisteTemplateItem> {
+
+		@Override
+		public int compare(final ChecklisteTemplateItem o1, final ChecklisteTemplateItem o2) {
+
+			String name1 = o1.getName().toLowerCase();
+			String name2 = o2.getName().toLowerCase();
+
+			if (name1.equals(name2)) {
+
+				return 0;
+			}
+
+			List<String> items = Arrays.asList(new String[] { name1, name2 });
+
+			Collator coll = Collator.getInstance(Locale.GERMAN);
+			coll.setStrength(Collator.PRIMARY);
+			Collections.sort(items, coll);
+
+			if (name1.equals(items.get(0))) {
+
+				return -1;
+			}
+
+			return 1;
+		}
+	}
+}
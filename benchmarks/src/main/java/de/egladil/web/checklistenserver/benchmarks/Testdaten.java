@@ -0,0 +1,92 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import de.egladil.web.checklistenserver.domain.Checkliste;
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+import de.egladil.web.checklistenserver.service.ChecklisteDatenMapper;
+
+/**
+ * Testdaten erzeugt reproduzierbare Checklisten für die Benchmarks.
+ */
+public final class Testdaten {
+
+	private static final String[] WOERTER = { "Äpfel", "Butter", "Zahnbürste", "Sonnencreme", "Brot", "Öl", "Käse", "Müsli",
+		"Regenjacke", "Wanderschuhe", "Ladekabel", "Reiseführer" };
+
+	private Testdaten() {
+
+	}
+
+	/**
+	 * @param  anzahlItems
+	 *                     int
+	 * @return             ChecklisteDaten mit anzahlItems Items, jedes dritte mit Kommentar.
+	 */
+	public static ChecklisteDaten createChecklisteDaten(final int anzahlItems) {
+
+		ChecklisteDaten daten = new ChecklisteDaten();
+		daten.setKuerzel(UUID.nameUUIDFromBytes(("liste-" + anzahlItems).getBytes()).toString());
+		daten.setGruppe(UUID.nameUUIDFromBytes("gruppe".getBytes()).toString());
+		daten.setName("Benchmark-Liste mit " + anzahlItems + " Items");
+		daten.setTyp(Checklistentyp.PACKLISTE);
+		daten.setVersion(1);
+
+		List<ChecklistenItem> items = new ArrayList<>(anzahlItems);
+
+		for (String name : createNamen(anzahlItems)) {
+
+			ChecklistenItem item = ChecklistenItem.fromName(name);
+			item.setErledigt(items.size() % 2 == 0);
+
+			if (items.size() % 3 == 0) {
+
+				item.setKommentar("Kommentar zu " + name + ": nicht vergessen & rechtzeitig <einpacken>");
+			}
+			items.add(item);
+		}
+
+		daten.setItems(items);
+		return daten;
+	}
+
+	/**
+	 * @param  anzahlItems
+	 *                     int
+	 * @return             Checkliste mit serialisierten Daten.
+	 */
+	public static Checkliste createCheckliste(final int anzahlItems) {
+
+		ChecklisteDaten daten = createChecklisteDaten(anzahlItems);
+		Checkliste checkliste = Checkliste.create(daten.getTyp(), daten.getName(), daten.getKuerzel());
+		checkliste.setGruppe(daten.getGruppe());
+		checkliste.setDaten(ChecklisteDatenMapper.serialize(daten, "Benchmark"));
+		return checkliste;
+	}
+
+	/**
+	 * @param  anzahl
+	 *                int
+	 * @return        String[] anzahl verschiedene, unsortierte Namen.
+	 */
+	public static String[] createNamen(final int anzahl) {
+
+		String[] result = new String[anzahl];
+
+		for (int i = 0; i < anzahl; i++) {
+
+			// 7919 ist prim: so entstehen unsortierte, verschiedene Nummern
+			result[i] = WOERTER[i % WOERTER.length] + " " + ((i * 7919) % 10007);
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,75 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+
+/**
+ * ValidatorBenchmark misst die Bean Validation einer Checkliste und ihrer Items. An den Items hängt der ChecklistenItemValidator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+
+	@Param({ "10", "100", "999" })
+	int anzahlItems;
+
+	private Validator validator;
+
+	private ChecklisteDaten daten;
+
+	private List<ChecklistenItem> items;
+
+	@Setup
+	public void setUp() {
+
+		// ohne Expression Language: die Meldungen werden in den Benchmarks nicht gebraucht
+		validator = Validation.byProvider(HibernateValidator.class).configure()
+			.messageInterpolator(new ParameterMessageInterpolator()).buildValidatorFactory().getValidator();
+		daten = Testdaten.createChecklisteDaten(anzahlItems);
+		items = daten.getItems();
+	}
+
+	@Benchmark
+	public void validateChecklistenItems(final Blackhole blackhole) {
+
+		for (ChecklistenItem item : items) {
+
+			blackhole.consume(validator.validate(item));
+		}
+	}
+
+	@Benchmark
+	public Object validateChecklisteDaten() {
+
+		return validator.validate(daten);
+	}
+}
@@ -0,0 +1,88 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Vergleich stellt zwei JSON-Ergebnisse von JMH (z.B. von {@link Baseline}) gegenüber. Je Benchmark und Parameter werden beide
+ * Scores und ihr Verhältnis ausgegeben. Bei Throughput ist größer besser, bei AverageTime kleiner.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar de.egladil.web.checklistenserver.benchmarks.Vergleich results/7.1.3.json results/7.2.0.json
+ * </pre>
+ */
+public final class Vergleich {
+
+	private Vergleich() {
+
+	}
+
+	public static void main(final String[] args) throws IOException {
+
+		if (args.length != 2) {
+
+			System.err.println("Aufruf: Vergleich <alt.json> <neu.json>");
+			System.exit(1);
+		}
+
+		Map<String, JsonNode> alt = lesen(new File(args[0]));
+		Map<String, JsonNode> neu = lesen(new File(args[1]));
+
+		System.out.println(String.format("%-90s %15s %15s %8s %s", "Benchmark", "alt", "neu", "neu/alt", "Einheit"));
+
+		for (Map.Entry<String, JsonNode> eintrag : neu.entrySet()) {
+
+			JsonNode metrikNeu = eintrag.getValue().get("primaryMetric");
+			double scoreNeu = metrikNeu.get("score").asDouble();
+			String einheit = metrikNeu.get("scoreUnit").asText();
+
+			JsonNode altesErgebnis = alt.get(eintrag.getKey());
+
+			if (altesErgebnis == null) {
+
+				System.out.println(String.format("%-90s %15s %15.3f %8s %s", eintrag.getKey(), "-", scoreNeu, "-", einheit));
+				continue;
+			}
+
+			double scoreAlt = altesErgebnis.get("primaryMetric").get("score").asDouble();
+			System.out.println(String.format("%-90s %15.3f %15.3f %8.2f %s", eintrag.getKey(), scoreAlt, scoreNeu,
+				scoreNeu / scoreAlt, einheit));
+		}
+	}
+
+	private static Map<String, JsonNode> lesen(final File datei) throws IOException {
+
+		Map<String, JsonNode> result = new TreeMap<>();
+
+		for (JsonNode ergebnis : new ObjectMapper().readTree(datei)) {
+
+			StringBuilder schluessel = new StringBuilder(ergebnis.get("benchmark").asText());
+			JsonNode params = ergebnis.get("params");
+
+			if (params != null) {
+
+				Iterator<Map.Entry<String, JsonNode>> iter = params.fields();
+
+				while (iter.hasNext()) {
+
+					Map.Entry<String, JsonNode> param = iter.next();
+					schluessel.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+				}
+			}
+
+			result.put(schluessel.toString(), ergebnis);
+		}
+
+		return result;
+	}
+}
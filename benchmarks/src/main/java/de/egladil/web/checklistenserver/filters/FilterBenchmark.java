@@ -0,0 +1,101 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.filters;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.egladil.web.checklistenserver.config.ConfigService;
+import de.egladil.web.commons_net.utils.CommonHttpUtils;
+
+/**
+ * FilterBenchmark misst die Prüfungen, die AuthorizationFilter und OriginReferrerFilter bei jedem Request machen, jeweils im
+ * Vergleich zur Implementierung bis 7.1.3. Liegt im Package der Filter, weil die Prüfungen package-private sind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+	private static final String TARGET_ORIGIN = "https://opa-wetterwachs.de,https://localhost:4200,http://localhost:4200";
+
+	private static final List<String> AUTHORIZED_PATHS_ALT = Arrays
+		.asList(new String[] { "/checklisten", "/templates", "/signup" });
+
+	private OriginReferrerFilter originReferrerFilter;
+
+	private final String referer = "https://opa-wetterwachs.de/checklisten-app/checklisten";
+
+	@Setup
+	public void setUp() {
+
+		originReferrerFilter = new OriginReferrerFilter();
+		originReferrerFilter.config = new ConfigService() {
+
+			@Override
+			public String getTargetOrigin() {
+
+				return TARGET_ORIGIN;
+			}
+		};
+		originReferrerFilter.init();
+	}
+
+	@Benchmark
+	public boolean needsSession(final Pfad pfad) {
+
+		return AuthorizationFilter.needsSession(pfad.path);
+	}
+
+	@Benchmark
+	public boolean needsSessionAlt(final Pfad pfad) {
+
+		final String path = pfad.path;
+		Optional<String> optPath = AUTHORIZED_PATHS_ALT.stream().filter(p -> path.toLowerCase().startsWith(p)).findFirst();
+
+		return optPath.isPresent();
+	}
+
+	@Benchmark
+	public boolean origin() {
+
+		return originReferrerFilter.istErlaubt(referer);
+	}
+
+	@Benchmark
+	public boolean originAlt() {
+
+		final String extractedValue = CommonHttpUtils.extractOrigin(referer);
+
+		return extractedValue == null || Arrays.asList(TARGET_ORIGIN.split(",")).contains(extractedValue);
+	}
+
+	/**
+	 * Der Pfad nur für die Benchmarks des AuthorizationFilters: ein geschützter und ein freier.
+	 */
+	@State(Scope.Benchmark)
+	public static class Pfad {
+
+		@Param({ "/checklisten/checkliste/0815-4711", "/version" })
+		String path;
+	}
+}
@@ -6,26 +6,319 @@ package de.egladil.web.checklistenserver.config;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.text.CollationKey;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.egladil.web.checklistenserver.domain.Sortierschluessel;
 import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
+import de.egladil.web.checklistenserver.error.ConcurrentUpdateException;
+import de.egladil.web.checklistenserver.metrics.Messpunkte;
 
 /**
- * AbstractListeTemplate
+ * AbstractListeTemplate liest und schreibt die Template-Dateien der Gruppen. Die gefilterten und sortierten Namen werden je Gruppe
+ * zusammen mit der Version gecached. Ein DirectoryWatcher auf dem Template-Verzeichnis verwirft den Eintrag einer Gruppe, sobald
+ * sich ihre Datei ändert. Kann das Verzeichnis nicht beobachtet werden, wird nicht gecached.
  */
 public abstract class AbstractListeTemplate {
 
 	private static final Logger LOG = LoggerFactory.getLogger(AbstractListeTemplate.class);
 
+	/* Rechte einer neu angelegten Template-Datei, wie bei Files.write mit der üblichen umask 022 */
+	private static final String RECHTE_NEUE_DATEI = "rw-r--r--";
+
+	/* bis hierhin (ms) wird die Version erhöht, wenn das Dateisystem die Änderungszeit rundet */
+	private static final long MAX_SCHRITT_VERSION = 100_000;
+
+	/* gruppe -> gelesener Stand */
+	private final ConcurrentHashMap<String, ListeTemplateStand> staende = new ConcurrentHashMap<>();
+
+	private DirectoryWatcher directoryWatcher;
+
+	private volatile boolean cacheAktiv;
+
+	@PostConstruct
+	void startWatching() {
+
+		Path dir = Paths.get(getPathTemplateDir());
+		directoryWatcher = new DirectoryWatcher(dir, this::dateiGeaendert);
+
+		try {
+
+			directoryWatcher.start();
+			cacheAktiv = true;
+		} catch (IOException e) {
+
+			LOG.warn("Konnte {} nicht beobachten. Templates werden bei jedem Zugriff gelesen: {}", dir, e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	void stopWatching() throws IOException {
+
+		if (directoryWatcher != null) {
+
+			directoryWatcher.close();
+		}
+	}
+
+	/**
+	 * Gibt die Namen aus dem Template der Gruppe zurück: ohne leere Zeilen, ohne Dubletten und sortiert.
+	 *
+	 * @param  gruppe
+	 *                String
+	 * @return        List unveränderlich
+	 */
+	public List<String> getSortierteNamen(final String gruppe) {
+
+		return getStand(gruppe).getNamen();
+	}
+
+	/**
+	 * Gibt die sortierten Namen zusammen mit der Version des Templates der Gruppe zurück.
+	 *
+	 * @param  gruppe
+	 *                String
+	 * @return        ListeTemplateStand
+	 */
+	public ListeTemplateStand getStand(final String gruppe) {
+
+		if (!cacheAktiv || StringUtils.isBlank(gruppe)) {
+
+			return leseStand(gruppe);
+		}
+
+		// computeIfAbsent sperrt den Eintrag während des Lesens, so dass ein gleichzeitiges invalidate nicht verloren geht.
+		return staende.computeIfAbsent(gruppe, this::leseStand);
+	}
+
+	/**
+	 * Verwirft den gecachten Stand der Gruppe.
+	 *
+	 * @param gruppe
+	 *               String
+	 */
+	public void invalidate(final String gruppe) {
+
+		staende.remove(gruppe);
+	}
+
+	/**
+	 * Speichert die Namen als Template der Gruppe. Geschrieben wird in eine temporäre Datei im selben Verzeichnis, die nach fsync
+	 * atomar an die Stelle der alten verschoben wird. Leser sehen daher immer entweder die alte oder die neue Datei vollständig,
+	 * auch nach einem Absturz.
+	 *
+	 * @param  gruppe
+	 *                                   String
+	 * @param  namen
+	 *                                   List
+	 * @param  erwarteteVersion
+	 *                                   long die Version, auf der die Änderung beruht.
+	 * @return                           ListeTemplateStand der neue Stand
+	 * @throws ConcurrentUpdateException
+	 *                                   wenn das Template inzwischen eine andere Version hat.
+	 * @throws IOException
+	 */
+	public synchronized ListeTemplateStand speichern(final String gruppe, final List<String> namen, final long erwarteteVersion) throws ConcurrentUpdateException, IOException {
+
+		long start = System.nanoTime();
+
+		try {
+
+			return schreiben(gruppe, namen, erwarteteVersion);
+		} finally {
+
+			Messpunkte.TEMPLATE_SCHREIBEN.erfassenSeit(start);
+		}
+	}
+
+	private ListeTemplateStand schreiben(final String gruppe, final List<String> namen, final long erwarteteVersion) throws ConcurrentUpdateException, IOException {
+
+		Path path = Paths.get(getPathTemplateFile(gruppe));
+
+		// beim Schreiben nicht dem Cache trauen: die Datei kann auch von außen geändert worden sein.
+		long aktuelleVersion = Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : 0;
+
+		if (aktuelleVersion != erwarteteVersion) {
+
+			LOG.warn("Template {}: Version {} erwartet, ist aber {}", path.getFileName(), erwarteteVersion, aktuelleVersion);
+			throw new ConcurrentUpdateException("Listenvorlage wurde kürzlich durch jemand anderen geändert. Anbei die neue Version.");
+		}
+
+		Path tempFile = Files.createTempFile(path.getParent(), gruppe, ".tmp");
+
+		try {
+
+			// createTempFile legt die Datei mit 0600 an, und das Verschieben macht das zu den Rechten des Templates.
+			uebernehmeRechte(path, tempFile);
+
+			Files.write(tempFile, String.join(System.lineSeparator(), namen).getBytes(StandardCharsets.UTF_8));
+
+			try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+
+				channel.force(true);
+			}
+
+			setzeNeueVersion(tempFile, aktuelleVersion);
+
+			Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+
+			Files.deleteIfExists(tempFile);
+		}
+
+		forceDirectory(path.getParent());
+
+		// zurücklesen: manche Dateisysteme speichern die Zeit gröber als in ms
+		ListeTemplateStand result = new ListeTemplateStand(sortiereNamen(namen.toArray(new String[0])),
+			Files.getLastModifiedTime(path).toMillis());
+		staende.put(gruppe, result);
+
+		return result;
+	}
+
+	/**
+	 * Filtert leere Namen und Dubletten aus und sortiert den Rest alphabetisch.
+	 *
+	 * @param  namen
+	 *               String[]
+	 * @return       List unveränderlich
+	 */
+	public static List<String> sortiereNamen(final String[] namen) {
+
+		Set<String> gefilterteNamen = Stream.of(namen).filter(name -> StringUtils.isNotBlank(name)).map(name -> name.trim())
+			.collect(Collectors.toSet());
+
+		// je Name einmal den CollationKey berechnen, statt bei jedem Vergleich die Strings neu zu zerlegen.
+		List<CollationKey> schluessel = gefilterteNamen.stream().map(Sortierschluessel::erzeugen).sorted()
+			.collect(Collectors.toList());
+
+		List<String> namenliste = new ArrayList<>(schluessel.size());
+
+		for (CollationKey key : schluessel) {
+
+			namenliste.add(key.getSourceString());
+		}
+
+		return Collections.unmodifiableList(namenliste);
+	}
+
+	private void dateiGeaendert(final Path dateiname) {
+
+		if (dateiname == null) {
+
+			// Events verloren
+			staende.clear();
+			return;
+		}
+
+		String name = dateiname.toString();
+
+		if (name.endsWith(getSuffixFilename())) {
+
+			String gruppe = name.substring(0, name.length() - getSuffixFilename().length());
+			invalidate(gruppe);
+			LOG.debug("Template {} geändert", name);
+		}
+	}
+
+	private ListeTemplateStand leseStand(final String gruppe) {
+
+		if (StringUtils.isBlank(gruppe)) {
+
+			return new ListeTemplateStand(Collections.emptyList(), 0);
+		}
+
+		Path path = Paths.get(getPathTemplateFile(gruppe));
+		long start = System.nanoTime();
+
+		try {
+
+			// erst die Version, dann der Inhalt: ändert sich die Datei dazwischen, ist die Version zu alt und das nächste Speichern
+			// scheitert mit ConcurrentUpdateException statt eine Änderung zu überschreiben.
+			long version = Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : 0;
+			return new ListeTemplateStand(sortiereNamen(getListeTemplate(gruppe)), version);
+		} catch (IOException e) {
+
+			throw new ChecklistenRuntimeException(e.getMessage(), e);
+		} finally {
+
+			Messpunkte.TEMPLATE_LESEN.erfassenSeit(start);
+		}
+	}
+
+	/**
+	 * Setzt die Änderungszeit der Datei echt größer als die alte Version, auch wenn die Uhr zurückgestellt wurde oder zweimal in
+	 * derselben ms gespeichert wird. Dateisysteme mit gröberen Zeitstempeln (z.B. Sekunden) runden ab, so dass die gespeicherte Zeit
+	 * wieder die alte sein kann. Daher zurücklesen und weiter erhöhen, bis sie sich unterscheidet.
+	 */
+	static long setzeNeueVersion(final Path datei, final long aktuelleVersion) throws IOException {
+
+		long neueVersion = Math.max(System.currentTimeMillis(), aktuelleVersion + 1);
+
+		for (long schritt = 10; schritt <= MAX_SCHRITT_VERSION; schritt *= 10) {
+
+			Files.setLastModifiedTime(datei, FileTime.fromMillis(neueVersion));
+			long gespeichert = Files.getLastModifiedTime(datei).toMillis();
+
+			if (gespeichert > aktuelleVersion) {
+
+				return gespeichert;
+			}
+
+			neueVersion = aktuelleVersion + schritt;
+		}
+
+		throw new IOException("Konnte die Änderungszeit von " + datei.getFileName() + " nicht über " + aktuelleVersion + " setzen");
+	}
+
+	private static void uebernehmeRechte(final Path vorlage, final Path datei) throws IOException {
+
+		if (!Files.getFileStore(datei).supportsFileAttributeView(PosixFileAttributeView.class)) {
+
+			return;
+		}
+
+		Set<PosixFilePermission> rechte = Files.exists(vorlage) ? Files.getPosixFilePermissions(vorlage)
+			: PosixFilePermissions.fromString(RECHTE_NEUE_DATEI);
+		Files.setPosixFilePermissions(datei, rechte);
+	}
+
+	private void forceDirectory(final Path dir) {
+
+		// damit das Umbenennen einen Absturz übersteht. Geht nicht auf jedem Betriebssystem.
+		try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+
+			channel.force(true);
+		} catch (IOException e) {
+
+			LOG.debug("fsync auf {} nicht möglich: {}", dir, e.getMessage());
+		}
+	}
+
 	/**
 	 * Gibt das template für die gegebene Gruppe zurück. Wenn es keins mit Präfix 'gruppe' gibt, wird ein leeres Array
 	 * zurückggegeben.
@@ -66,6 +359,32 @@ public abstract class AbstractListeTemplate {
 		}
 	}
 
+	/**
+	 * Gibt die Gruppen zurück, für die es eine Template-Datei gibt.
+	 *
+	 * @return List
+	 */
+	public List<String> getGruppen() {
+
+		Path dir = Paths.get(getPathTemplateDir());
+
+		if (!Files.isDirectory(dir)) {
+
+			LOG.warn("Verzeichnis {} existiert nicht: geben leere Liste zurück", dir);
+			return Collections.emptyList();
+		}
+
+		try (Stream<Path> dateien = Files.list(dir)) {
+
+			return dateien.map(datei -> datei.getFileName().toString()).filter(name -> name.endsWith(getSuffixFilename()))
+				.map(name -> name.substring(0, name.length() - getSuffixFilename().length()))
+				.filter(gruppe -> StringUtils.isNotBlank(gruppe)).collect(Collectors.toList());
+		} catch (IOException e) {
+
+			throw new ChecklistenRuntimeException(e.getMessage(), e);
+		}
+	}
+
 	public String getPathTemplateFile(final String gruppe) {
 
 		return getPathTemplateDir() + File.separator + gruppe + getSuffixFilename();
@@ -0,0 +1,108 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.config;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DirectoryWatcher beobachtet ein Verzeichnis in einem eigenen Daemon-Thread und meldet jede angelegte, geänderte oder
+ * gelöschte Datei an den listener. Gingen Events verloren (OVERFLOW), wird der listener mit null aufgerufen: dann muss er
+ * davon ausgehen, dass sich alle Dateien geändert haben.
+ */
+public class DirectoryWatcher implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(DirectoryWatcher.class);
+
+	private final Path dir;
+
+	private final Consumer<Path> listener;
+
+	private WatchService watchService;
+
+	/**
+	 * @param dir
+	 *                 Path das zu beobachtende Verzeichnis.
+	 * @param listener
+	 *                 Consumer bekommt den Dateinamen relativ zu dir oder null.
+	 */
+	public DirectoryWatcher(final Path dir, final Consumer<Path> listener) {
+
+		this.dir = dir;
+		this.listener = listener;
+	}
+
+	/**
+	 * Startet die Beobachtung.
+	 *
+	 * @throws IOException
+	 */
+	public void start() throws IOException {
+
+		watchService = FileSystems.getDefault().newWatchService();
+		dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+
+		Thread thread = new Thread(this::watch, "watch-" + dir.getFileName());
+		thread.setDaemon(true);
+		thread.start();
+
+		LOG.info("beobachte Verzeichnis {}", dir);
+	}
+
+	private void watch() {
+
+		try {
+
+			while (true) {
+
+				WatchKey key = watchService.take();
+
+				for (WatchEvent<?> event : key.pollEvents()) {
+
+					if (event.kind() == OVERFLOW) {
+
+						listener.accept(null);
+					} else {
+
+						listener.accept((Path) event.context());
+					}
+				}
+
+				if (!key.reset()) {
+
+					LOG.warn("Verzeichnis {} kann nicht mehr beobachtet werden", dir);
+					return;
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+
+			LOG.debug("Beobachtung von {} beendet", dir);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+
+		if (watchService != null) {
+
+			watchService.close();
+		}
+	}
+}
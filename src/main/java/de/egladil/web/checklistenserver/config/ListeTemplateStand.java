@@ -0,0 +1,44 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.config;
+
+import java.util.List;
+
+/**
+ * ListeTemplateStand ist der gelesene Inhalt einer Template-Datei: die sortierten Namen und die Version. Die Version ist der
+ * Zeitpunkt der letzten Änderung der Datei in Millisekunden und wird bei jedem Speichern echt größer. 0 heißt, es gibt die Datei
+ * nicht.
+ */
+public class ListeTemplateStand {
+
+	private final List<String> namen;
+
+	private final long version;
+
+	/**
+	 * @param namen
+	 *                List unveränderlich
+	 * @param version
+	 *                long
+	 */
+	public ListeTemplateStand(final List<String> namen, final long version) {
+
+		this.namen = namen;
+		this.version = version;
+	}
+
+	/**
+	 * @return List unveränderlich, sortiert
+	 */
+	public List<String> getNamen() {
+
+		return namen;
+	}
+
+	public long getVersion() {
+
+		return version;
+	}
+}
@@ -23,6 +23,16 @@ public interface IBaseDao {
 	 */
 	<T extends Checklistenentity> T save(T entity);
 
+	/**
+	 * Speichert mehrere Entities in einer Transaktion. Geschrieben wird beim Flush, mit
+	 * quarkus.hibernate-orm.jdbc.statement-batch-size als JDBC-Batch statt mit einem Roundtrip je Entity.
+	 *
+	 * @param  entities
+	 *                  List
+	 * @return          List die gespeicherten Entities in derselben Reihenfolge.
+	 */
+	<T extends Checklistenentity> List<T> saveAll(List<T> entities);
+
 	/**
 	 * Sucht die Entity anhand ihres eindeutigen fachlichen Schlüssels.
 	 *
@@ -4,9 +4,13 @@
 // =====================================================
 package de.egladil.web.checklistenserver.dao;
 
+import java.io.Reader;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import de.egladil.web.checklistenserver.domain.Checkliste;
+import de.egladil.web.checklistenserver.domain.ChecklisteUebersicht;
 
 /**
  * IChecklisteDao
@@ -30,6 +34,46 @@ public interface IChecklisteDao extends IBaseDao {
 	 */
 	List<Checkliste> load(String gruppe);
 
+	/**
+	 * Läd die Übersicht aller Checklisten mit der gegebenen Gruppe, ohne die Spalte DATEN zu lesen.
+	 *
+	 * @param  gruppe
+	 *                String darf nicht blank sein.
+	 * @return        List
+	 */
+	List<ChecklisteUebersicht> loadUebersicht(String gruppe);
+
+	/**
+	 * Sucht die Übersicht der Checkliste mit dem gegebenen kuerzel, ohne die Spalte DATEN zu lesen.
+	 *
+	 * @param  kuerzel
+	 *                 String
+	 * @return         Optional
+	 */
+	Optional<ChecklisteUebersicht> findUebersicht(String kuerzel);
+
+	/**
+	 * Läd mehrere Checklisten mit einer Abfrage.
+	 *
+	 * @param  kuerzel
+	 *                 Collection
+	 * @return         List in beliebiger Reihenfolge, ohne die nicht vorhandenen.
+	 */
+	List<Checkliste> findByKuerzel(Collection<String> kuerzel);
+
+	/**
+	 * Liest die Spalte DATEN der Checklisten mit der gegebenen Gruppe und den gegebenen kuerzeln als Zeichenstrom, ohne
+	 * Checkliste-Entities und Strings zu erzeugen.
+	 *
+	 * @param gruppe
+	 *                 String darf nicht blank sein.
+	 * @param kuerzel
+	 *                 Collection die kuerzel der zu lesenden Checklisten. Bei null werden alle Checklisten der Gruppe gelesen.
+	 * @param consumer
+	 *                 DatenConsumer
+	 */
+	void streamDaten(String gruppe, Collection<String> kuerzel, DatenConsumer consumer);
+
 	/**
 	 * Gibt die Anzahl aller Checklisten für die gegebene Gruppe zurück.
 	 *
@@ -39,4 +83,13 @@ public interface IChecklisteDao extends IBaseDao {
 	 */
 	int getAnzahl(String gruppe);
 
+	/**
+	 * DatenConsumer bekommt kuerzel, version und einen Reader auf DATEN. Der Reader ist nur während des Aufrufs gültig.
+	 */
+	@FunctionalInterface
+	interface DatenConsumer {
+
+		void accept(String kuerzel, int version, int datenFormat, Reader daten);
+	}
+
 }
@@ -0,0 +1,89 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.dao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import de.egladil.web.checklistenserver.domain.Checkliste;
+import de.egladil.web.checklistenserver.domain.Checklistenposition;
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+
+/**
+ * IChecklistenpositionDao liest und schreibt die Items einer Checkliste als Zeilen von CHECKLISTEN_ITEMS. Ein Item wird über
+ * CHECKLISTE_ID und NAME gefunden.
+ */
+public interface IChecklistenpositionDao extends IBaseDao {
+
+	/**
+	 * @param  checklisteId
+	 *                      Long
+	 * @return              List nach POSITION sortiert
+	 */
+	List<Checklistenposition> findByCheckliste(Long checklisteId);
+
+	/**
+	 * Läd die Positionen mehrerer Checklisten mit einer Abfrage.
+	 *
+	 * @param  kuerzel
+	 *                 Collection die kuerzel der Checklisten
+	 * @return         Map kuerzel -> nach POSITION sortierte Liste. Checklisten ohne Items fehlen.
+	 */
+	Map<String, List<Checklistenposition>> findByKuerzel(Collection<String> kuerzel);
+
+	/**
+	 * Ersetzt alle Positionen der Checkliste durch die Items in der gegebenen Reihenfolge.
+	 *
+	 * @param checklisteId
+	 *                     Long
+	 * @param items
+	 *                     List
+	 */
+	void ersetzen(Long checklisteId, List<ChecklistenItem> items);
+
+	/**
+	 * @return int Anzahl geänderter Zeilen
+	 */
+	int setzeErledigt(Long checklisteId, String name, boolean erledigt);
+
+	/**
+	 * @return int Anzahl geänderter Zeilen
+	 */
+	int setzeMarkiert(Long checklisteId, String name, boolean markiert);
+
+	/**
+	 * @return int Anzahl geänderter Zeilen
+	 */
+	int setzeKommentar(Long checklisteId, String name, String kommentar);
+
+	/**
+	 * @return int Anzahl geänderter Zeilen
+	 */
+	int umbenennen(Long checklisteId, String name, String neuerName);
+
+	/**
+	 * @return int Anzahl gelöschter Zeilen
+	 */
+	int entfernen(Long checklisteId, String name);
+
+	/**
+	 * Hängt das Item hinter die letzte Position an.
+	 *
+	 * @param checklisteId
+	 *                     Long
+	 * @param item
+	 *                     ChecklistenItem
+	 */
+	void anhaengen(Long checklisteId, ChecklistenItem item);
+
+	/**
+	 * Setzt anzahlItems und anzahlErledigt der Checkliste per Aggregat über ihre Positionen.
+	 *
+	 * @param checkliste
+	 *                   Checkliste mit ID
+	 */
+	void zaehleItems(Checkliste checkliste);
+}
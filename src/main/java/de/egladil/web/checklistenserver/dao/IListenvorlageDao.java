@@ -0,0 +1,61 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.dao;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.PersistenceException;
+
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+import de.egladil.web.checklistenserver.domain.Listenvorlage;
+
+/**
+ * IListenvorlageDao
+ */
+public interface IListenvorlageDao extends IBaseDao {
+
+	/**
+	 * @param  gruppe
+	 *                String
+	 * @param  typ
+	 *                Checklistentyp
+	 * @return        Optional
+	 */
+	Optional<Listenvorlage> findByGruppeUndTyp(String gruppe, Checklistentyp typ);
+
+	/**
+	 * @param  gruppe
+	 *                String
+	 * @return        List alle Listenvorlagen der Gruppe
+	 */
+	List<Listenvorlage> findByGruppe(String gruppe);
+
+	/**
+	 * Überschreibt die Namen, aber nur, wenn die Listenvorlage noch die erwartete Version hat. Dabei wird die Version um 1 erhöht.
+	 *
+	 * @param  gruppe
+	 *                          String
+	 * @param  typ
+	 *                          Checklistentyp
+	 * @param  namen
+	 *                          String
+	 * @param  erwarteteVersion
+	 *                          long
+	 * @return                  boolean false, wenn es die Listenvorlage in der erwarteten Version nicht (mehr) gibt.
+	 */
+	boolean aendern(String gruppe, Checklistentyp typ, String namen, long erwarteteVersion);
+
+	/**
+	 * Legt die Listenvorlage an und schreibt sie sofort. Eine Verletzung des unique key (GRUPPE, TYP) kommt so als
+	 * PersistenceException hier an und nicht erst beim Commit.
+	 *
+	 * @param  vorlage
+	 *                                 Listenvorlage
+	 * @throws PersistenceException
+	 *                                 wenn es die Listenvorlage inzwischen gibt.
+	 */
+	void anlegen(Listenvorlage vorlage) throws PersistenceException;
+}
@@ -6,6 +6,7 @@
 package de.egladil.web.checklistenserver.dao.impl;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,11 +26,13 @@ import org.slf4j.LoggerFactory;
 import de.egladil.web.checklistenserver.dao.IBaseDao;
 import de.egladil.web.checklistenserver.domain.Checklistenentity;
 import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
+import de.egladil.web.checklistenserver.metrics.Gemessen;
 import de.egladil.web.commons_validation.ValidationDelegate;
 
 /**
  * BaseDao
  */
+@Gemessen("checklisten.dao")
 public abstract class BaseDao implements IBaseDao {
 
 	private static final Logger LOG = LoggerFactory.getLogger(BaseDao.class);
@@ -80,6 +83,21 @@ public abstract class BaseDao implements IBaseDao {
 		return persisted;
 	}
 
+	@Override
+	@Transactional(value = TxType.REQUIRED)
+	public <T extends Checklistenentity> List<T> saveAll(final List<T> entities) {
+
+		List<T> result = new ArrayList<>(entities.size());
+
+		for (T entity : entities) {
+
+			result.add(save(entity));
+		}
+
+		LOG.debug("{} Entities gespeichert", result.size());
+		return result;
+	}
+
 	@Override
 	public <T extends Checklistenentity> Optional<T> findByUniqueIdentifier(final String identifier) {
 
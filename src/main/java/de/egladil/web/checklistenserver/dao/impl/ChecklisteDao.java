@@ -5,7 +5,14 @@
 
 package de.egladil.web.checklistenserver.dao.impl;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import javax.enterprise.context.RequestScoped;
 import javax.persistence.EntityManager;
@@ -13,11 +20,13 @@ import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 
 import org.apache.commons.lang3.StringUtils;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.egladil.web.checklistenserver.dao.IChecklisteDao;
 import de.egladil.web.checklistenserver.domain.Checkliste;
+import de.egladil.web.checklistenserver.domain.ChecklisteUebersicht;
 import de.egladil.web.checklistenserver.domain.Checklistenentity;
 import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
 
@@ -109,6 +118,106 @@ public class ChecklisteDao extends BaseDao implements IChecklisteDao {
 		return trefferliste;
 	}
 
+	@Override
+	public List<ChecklisteUebersicht> loadUebersicht(final String gruppe) {
+
+		if (StringUtils.isBlank(gruppe)) {
+
+			throw new IllegalArgumentException("gruppe blank");
+		}
+
+		String stmt = "select new de.egladil.web.checklistenserver.domain.ChecklisteUebersicht(c.kuerzel, c.name, c.typ, c.gruppe, c.version, c.anzahlItems, c.anzahlErledigt) from Checkliste c where c.gruppe = :gruppe";
+		TypedQuery<ChecklisteUebersicht> query = getEm().createQuery(stmt, ChecklisteUebersicht.class);
+		query.setParameter("gruppe", gruppe);
+
+		List<ChecklisteUebersicht> trefferliste = query.getResultList();
+
+		LOG.debug("ChecklisteUebersicht - Anzahl Treffer: {}", trefferliste.size());
+
+		return trefferliste;
+	}
+
+	@Override
+	public List<Checkliste> findByKuerzel(final Collection<String> kuerzel) {
+
+		if (kuerzel.isEmpty()) {
+
+			return Collections.emptyList();
+		}
+
+		String stmt = "select c from Checkliste c where c.kuerzel in :kuerzel";
+		TypedQuery<Checkliste> query = getEm().createQuery(stmt, Checkliste.class);
+		query.setParameter("kuerzel", kuerzel);
+
+		return query.getResultList();
+	}
+
+	@Override
+	public Optional<ChecklisteUebersicht> findUebersicht(final String kuerzel) {
+
+		String stmt = "select new de.egladil.web.checklistenserver.domain.ChecklisteUebersicht(c.kuerzel, c.name, c.typ, c.gruppe, c.version, c.anzahlItems, c.anzahlErledigt) from Checkliste c where c.kuerzel = :kuerzel";
+		TypedQuery<ChecklisteUebersicht> query = getEm().createQuery(stmt, ChecklisteUebersicht.class);
+		query.setParameter("kuerzel", kuerzel);
+
+		List<ChecklisteUebersicht> trefferliste = query.getResultList();
+
+		return trefferliste.isEmpty() ? Optional.empty() : Optional.of(trefferliste.get(0));
+	}
+
+	@Override
+	public void streamDaten(final String gruppe, final Collection<String> kuerzel, final DatenConsumer consumer) {
+
+		if (StringUtils.isBlank(gruppe)) {
+
+			throw new IllegalArgumentException("gruppe blank");
+		}
+
+		if (kuerzel != null && kuerzel.isEmpty()) {
+
+			return;
+		}
+
+		StringBuilder sb = new StringBuilder("select KUERZEL, VERSION, DATEN_FORMAT, DATEN from CHECKLISTEN where GRUPPE = ?");
+
+		if (kuerzel != null) {
+
+			sb.append(" and KUERZEL in (");
+			sb.append(String.join(", ", Collections.nCopies(kuerzel.size(), "?")));
+			sb.append(")");
+		}
+
+		getEm().unwrap(Session.class).doWork(conn -> {
+
+			try (PreparedStatement stmt = conn.prepareStatement(sb.toString())) {
+
+				int index = 1;
+				stmt.setString(index++, gruppe);
+
+				if (kuerzel != null) {
+
+					for (String k : kuerzel) {
+
+						stmt.setString(index++, k);
+					}
+				}
+
+				try (ResultSet rs = stmt.executeQuery()) {
+
+					while (rs.next()) {
+
+						try (Reader reader = rs.getCharacterStream("DATEN")) {
+
+							consumer.accept(rs.getString("KUERZEL"), rs.getInt("VERSION"), rs.getInt("DATEN_FORMAT"), reader);
+						}
+					}
+				}
+			} catch (IOException e) {
+
+				throw new ChecklistenRuntimeException("Fehler beim Lesen der Spalte DATEN: " + e.getMessage(), e);
+			}
+		});
+	}
+
 	@Override
 	public int getAnzahl(final String gruppe) {
 
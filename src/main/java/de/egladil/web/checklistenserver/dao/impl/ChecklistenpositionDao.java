@@ -0,0 +1,229 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.dao.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.context.RequestScoped;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.egladil.web.checklistenserver.dao.IChecklistenpositionDao;
+import de.egladil.web.checklistenserver.domain.Checkliste;
+import de.egladil.web.checklistenserver.domain.Checklistenentity;
+import de.egladil.web.checklistenserver.domain.Checklistenposition;
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
+
+/**
+ * ChecklistenpositionDao
+ */
+@RequestScoped
+public class ChecklistenpositionDao extends BaseDao implements IChecklistenpositionDao {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ChecklistenpositionDao.class);
+
+	private static final String WHERE_CHECKLISTE_UND_NAME = " where p.checklisteId = :checklisteId and p.name = :name";
+
+	private static final String WHERE_IDS = " where p.id in :ids";
+
+	/**
+	 * Erzeugt eine Instanz von ChecklistenpositionDao
+	 */
+	public ChecklistenpositionDao() {
+
+	}
+
+	/**
+	 * Erzeugt eine Instanz von ChecklistenpositionDao
+	 */
+	public ChecklistenpositionDao(final EntityManager em) {
+
+		super(em);
+	}
+
+	@Override
+	public List<Checklistenposition> findByCheckliste(final Long checklisteId) {
+
+		String stmt = "select p from Checklistenposition p where p.checklisteId = :checklisteId order by p.position";
+		TypedQuery<Checklistenposition> query = getEm().createQuery(stmt, Checklistenposition.class);
+		query.setParameter("checklisteId", checklisteId);
+
+		return query.getResultList();
+	}
+
+	@Override
+	public Map<String, List<Checklistenposition>> findByKuerzel(final Collection<String> kuerzel) {
+
+		Map<String, List<Checklistenposition>> result = new HashMap<>();
+
+		if (kuerzel.isEmpty()) {
+
+			return result;
+		}
+
+		String stmt = "select c.kuerzel, p from Checklistenposition p, Checkliste c where c.id = p.checklisteId and c.kuerzel in :kuerzel order by p.checklisteId, p.position";
+		TypedQuery<Object[]> query = getEm().createQuery(stmt, Object[].class);
+		query.setParameter("kuerzel", kuerzel);
+
+		for (Object[] zeile : query.getResultList()) {
+
+			result.computeIfAbsent((String) zeile[0], k -> new ArrayList<>()).add((Checklistenposition) zeile[1]);
+		}
+
+		return result;
+	}
+
+	@Override
+	@Transactional(value = TxType.REQUIRED)
+	public void ersetzen(final Long checklisteId, final List<ChecklistenItem> items) {
+
+		int anzahl = getEm().createQuery("delete from Checklistenposition p where p.checklisteId = :checklisteId")
+			.setParameter("checklisteId", checklisteId).executeUpdate();
+
+		List<Checklistenposition> positionen = new ArrayList<>(items.size());
+
+		for (int i = 0; i < items.size(); i++) {
+
+			positionen.add(Checklistenposition.create(checklisteId, i + 1, items.get(i)));
+		}
+
+		saveAll(positionen);
+
+		LOG.debug("Checkliste {}: {} Positionen ersetzt durch {}", checklisteId, anzahl, items.size());
+	}
+
+	@Override
+	@Transactional(value = TxType.REQUIRED)
+	public int setzeErledigt(final Long checklisteId, final String name, final boolean erledigt) {
+
+		return aktualisieren("p.erledigt", erledigt, checklisteId, name);
+	}
+
+	@Override
+	@Transactional(value = TxType.REQUIRED)
+	public int setzeMarkiert(final Long checklisteId, final String name, final boolean markiert) {
+
+		return aktualisieren("p.markiert", markiert, checklisteId, name);
+	}
+
+	@Override
+	@Transactional(value = TxType.REQUIRED)
+	public int setzeKommentar(final Long checklisteId, final String name, final String kommentar) {
+
+		return aktualisieren("p.kommentar", kommentar, checklisteId, name);
+	}
+
+	@Override
+	@Transactional(value = TxType.REQUIRED)
+	public int umbenennen(final Long checklisteId, final String name, final String neuerName) {
+
+		return aktualisieren("p.name", neuerName, checklisteId, name);
+	}
+
+	@Override
+	@Transactional(value = TxType.REQUIRED)
+	public int entfernen(final Long checklisteId, final String name) {
+
+		List<Long> ids = findIdsMitNamen(checklisteId, name);
+
+		if (ids.isEmpty()) {
+
+			return 0;
+		}
+
+		return getEm().createQuery("delete from Checklistenposition p" + WHERE_IDS).setParameter("ids", ids).executeUpdate();
+	}
+
+	@Override
+	@Transactional(value = TxType.REQUIRED)
+	public void anhaengen(final Long checklisteId, final ChecklistenItem item) {
+
+		Integer maxPosition = getEm()
+			.createQuery("select max(p.position) from Checklistenposition p where p.checklisteId = :checklisteId", Integer.class)
+			.setParameter("checklisteId", checklisteId).getSingleResult();
+
+		getEm().persist(Checklistenposition.create(checklisteId, maxPosition == null ? 1 : maxPosition + 1, item));
+	}
+
+	@Override
+	public void zaehleItems(final Checkliste checkliste) {
+
+		// nutzt den Index (CHECKLISTE_ID, ERLEDIGT), statt DATEN zu parsen
+		String stmt = "select count(p), sum(case when p.erledigt = true then 1 else 0 end) from Checklistenposition p where p.checklisteId = :checklisteId";
+		Object[] zeile = getEm().createQuery(stmt, Object[].class).setParameter("checklisteId", checkliste.getId())
+			.getSingleResult();
+
+		int anzahlItems = ((Number) zeile[0]).intValue();
+		int anzahlErledigt = zeile[1] == null ? 0 : ((Number) zeile[1]).intValue();
+		checkliste.setZaehler(anzahlItems, anzahlErledigt);
+	}
+
+	private int aktualisieren(final String attribut, final Object wert, final Long checklisteId, final String name) {
+
+		List<Long> ids = findIdsMitNamen(checklisteId, name);
+
+		if (ids.isEmpty()) {
+
+			return 0;
+		}
+
+		return getEm().createQuery("update Checklistenposition p set " + attribut + " = :wert" + WHERE_IDS)
+			.setParameter("wert", wert).setParameter("ids", ids).executeUpdate();
+	}
+
+	/**
+	 * Items unterscheiden Groß- und Kleinschreibung, eine Collation der DB womöglich nicht ("Milch" = "milch"). Daher werden die
+	 * Kandidaten über den Index (CHECKLISTE_ID, NAME) geholt und hier noch einmal exakt verglichen.
+	 */
+	private List<Long> findIdsMitNamen(final Long checklisteId, final String name) {
+
+		TypedQuery<Object[]> query = getEm().createQuery("select p.id, p.name from Checklistenposition p" + WHERE_CHECKLISTE_UND_NAME,
+			Object[].class);
+		query.setParameter("checklisteId", checklisteId).setParameter("name", name);
+
+		List<Long> result = new ArrayList<>();
+
+		for (Object[] zeile : query.getResultList()) {
+
+			if (name.equals(zeile[1])) {
+
+				result.add((Long) zeile[0]);
+			}
+		}
+
+		return result;
+	}
+
+	@Override
+	protected String getFindEntityByUniqueIdentifierQuery(final String queryParameterName) {
+
+		final String msg = "Checklistenposition hat keinen fachlichen Schlüssel. Verwende findByCheckliste";
+		LOG.error(msg);
+		throw new ChecklistenRuntimeException(msg);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	protected <T extends Checklistenentity> Class<T> getEntityClass() {
+
+		return (Class<T>) Checklistenposition.class;
+	}
+
+	@Override
+	protected String getCountStatement() {
+
+		return "select count(*) from CHECKLISTEN_ITEMS";
+	}
+}
@@ -0,0 +1,114 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.dao.impl;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.enterprise.context.RequestScoped;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.egladil.web.checklistenserver.dao.IListenvorlageDao;
+import de.egladil.web.checklistenserver.domain.Checklistenentity;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+import de.egladil.web.checklistenserver.domain.Listenvorlage;
+import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
+
+/**
+ * ListenvorlageDao
+ */
+@RequestScoped
+public class ListenvorlageDao extends BaseDao implements IListenvorlageDao {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ListenvorlageDao.class);
+
+	/**
+	 * Erzeugt eine Instanz von ListenvorlageDao
+	 */
+	public ListenvorlageDao() {
+
+	}
+
+	/**
+	 * Erzeugt eine Instanz von ListenvorlageDao
+	 */
+	public ListenvorlageDao(final EntityManager em) {
+
+		super(em);
+	}
+
+	@Override
+	public Optional<Listenvorlage> findByGruppeUndTyp(final String gruppe, final Checklistentyp typ) {
+
+		String stmt = "select v from Listenvorlage v where v.gruppe = :gruppe and v.typ = :typ";
+		TypedQuery<Listenvorlage> query = getEm().createQuery(stmt, Listenvorlage.class);
+		query.setParameter("gruppe", gruppe);
+		query.setParameter("typ", typ);
+
+		List<Listenvorlage> trefferliste = query.getResultList();
+
+		return trefferliste.isEmpty() ? Optional.empty() : Optional.of(trefferliste.get(0));
+	}
+
+	@Override
+	public List<Listenvorlage> findByGruppe(final String gruppe) {
+
+		String stmt = "select v from Listenvorlage v where v.gruppe = :gruppe";
+		TypedQuery<Listenvorlage> query = getEm().createQuery(stmt, Listenvorlage.class);
+		query.setParameter("gruppe", gruppe);
+
+		return query.getResultList();
+	}
+
+	@Override
+	@Transactional(value = TxType.REQUIRED)
+	public boolean aendern(final String gruppe, final Checklistentyp typ, final String namen, final long erwarteteVersion) {
+
+		String stmt = "update Listenvorlage v set v.namen = :namen, v.version = v.version + 1 where v.gruppe = :gruppe and v.typ = :typ and v.version = :version";
+
+		int anzahl = getEm().createQuery(stmt).setParameter("namen", namen).setParameter("gruppe", gruppe)
+			.setParameter("typ", typ).setParameter("version", erwarteteVersion).executeUpdate();
+
+		LOG.debug("Listenvorlage {} - Anzahl geändert: {}", typ, anzahl);
+
+		return anzahl == 1;
+	}
+
+	@Override
+	@Transactional(value = TxType.REQUIRED)
+	public void anlegen(final Listenvorlage vorlage) {
+
+		save(vorlage);
+		// die Id kommt aus ID_GENERATOR, ohne flush würde erst beim Commit eingefügt
+		getEm().flush();
+	}
+
+	@Override
+	protected String getFindEntityByUniqueIdentifierQuery(final String queryParameterName) {
+
+		final String msg = "Listenvorlage hat keinen einfachen fachlichen Schlüssel. Verwende findByGruppeUndTyp";
+		LOG.error(msg);
+		throw new ChecklistenRuntimeException(msg);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	protected <T extends Checklistenentity> Class<T> getEntityClass() {
+
+		return (Class<T>) Listenvorlage.class;
+	}
+
+	@Override
+	protected String getCountStatement() {
+
+		return "select count(*) from LISTENVORLAGEN";
+	}
+}
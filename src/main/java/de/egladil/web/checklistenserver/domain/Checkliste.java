@@ -6,6 +6,7 @@
 package de.egladil.web.checklistenserver.domain;
 
 import java.util.Date;
+import java.util.List;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -15,6 +16,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.persistence.Temporal;
 import javax.persistence.TemporalType;
 import javax.persistence.Transient;
@@ -36,6 +38,12 @@ public class Checkliste implements Checklistenentity {
 	/* serialVersionUID */
 	private static final long serialVersionUID = 1L;
 
+	/** DATEN wurden ohne Sanitizer gespeichert (Bestand) und werden beim Lesen kodiert. */
+	public static final int DATEN_FORMAT_ROH = 0;
+
+	/** DATEN wurden sanitiert gespeichert und werden beim Lesen unverändert ausgeliefert. */
+	public static final int DATEN_FORMAT_SANITIZED = 1;
+
 	public static Checkliste create(final Checklistentyp typ, final String name, final String kuerzel) {
 
 		Checkliste result = new Checkliste();
@@ -47,7 +55,9 @@ public class Checkliste implements Checklistenentity {
 	}
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "CHECKLISTEN_ID")
+	@TableGenerator(name = "CHECKLISTEN_ID", table = ID_GENERATOR_TABLE, pkColumnName = ID_GENERATOR_PK_COLUMN,
+		valueColumnName = ID_GENERATOR_VALUE_COLUMN, pkColumnValue = "CHECKLISTEN", allocationSize = ID_ALLOCATION_SIZE)
 	@Column(name = "ID")
 	private Long id;
 
@@ -74,6 +84,17 @@ public class Checkliste implements Checklistenentity {
 	@Column(name = "DATEN")
 	private String daten;
 
+	/* DATEN_FORMAT_ROH oder DATEN_FORMAT_SANITIZED */
+	@Column(name = "DATEN_FORMAT")
+	private int datenFormat;
+
+	/* redundant zu DATEN, damit die Übersicht DATEN nicht lesen muss. */
+	@Column(name = "ANZAHL_ITEMS")
+	private int anzahlItems;
+
+	@Column(name = "ANZAHL_ERLEDIGT")
+	private int anzahlErledigt;
+
 	@Temporal(TemporalType.TIMESTAMP)
 	@Column(name = "DATE_MODIFIED")
 	private Date datumGeaendert;
@@ -167,6 +188,57 @@ public class Checkliste implements Checklistenentity {
 		this.daten = details;
 	}
 
+	/**
+	 * Aktualisiert die Spalten ANZAHL_ITEMS und ANZAHL_ERLEDIGT. Muss bei jedem Setzen der Daten aufgerufen werden.
+	 *
+	 * @param items
+	 *              List die Items der Checkliste
+	 */
+	public void zaehleItems(final List<ChecklistenItem> items) {
+
+		int erledigt = 0;
+
+		for (ChecklistenItem item : items) {
+
+			if (item.isErledigt()) {
+
+				erledigt++;
+			}
+		}
+
+		this.anzahlItems = items.size();
+		this.anzahlErledigt = erledigt;
+	}
+
+	public int getDatenFormat() {
+
+		return datenFormat;
+	}
+
+	public void setDatenFormat(final int datenFormat) {
+
+		this.datenFormat = datenFormat;
+	}
+
+	/**
+	 * Setzt die Zähler, wenn die Items nicht im Speicher sind (z.B. aus einer Aggregat-Abfrage auf CHECKLISTEN_ITEMS).
+	 */
+	public void setZaehler(final int anzahlItems, final int anzahlErledigt) {
+
+		this.anzahlItems = anzahlItems;
+		this.anzahlErledigt = anzahlErledigt;
+	}
+
+	public int getAnzahlItems() {
+
+		return anzahlItems;
+	}
+
+	public int getAnzahlErledigt() {
+
+		return anzahlErledigt;
+	}
+
 	public Date getDatumGeaendert() {
 
 		return datumGeaendert;
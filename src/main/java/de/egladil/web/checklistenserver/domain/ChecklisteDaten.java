@@ -12,6 +12,8 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import de.egladil.web.commons_validation.annotations.StringLatin;
 import de.egladil.web.commons_validation.annotations.UuidString;
 
@@ -42,6 +44,10 @@ public class ChecklisteDaten {
 	@Size(max = 999)
 	private List<ChecklistenItem> items = new ArrayList<>();
 
+	/* true, wenn die Texte schon für HTML kodiert sind. Wird weder gespeichert noch vom Client übernommen. */
+	@JsonIgnore
+	private boolean sanitized;
+
 	/**
 	 * @param  baseUri
 	 *                 String der Teil bis zu den Checklisten mit endendem /
@@ -121,4 +127,14 @@ public class ChecklisteDaten {
 
 		this.gruppe = gruppe;
 	}
+
+	public boolean isSanitized() {
+
+		return sanitized;
+	}
+
+	public void setSanitized(final boolean sanitized) {
+
+		this.sanitized = sanitized;
+	}
 }
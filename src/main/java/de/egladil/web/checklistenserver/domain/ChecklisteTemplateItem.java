@@ -4,9 +4,13 @@
 // =====================================================
 package de.egladil.web.checklistenserver.domain;
 
+import java.text.CollationKey;
+
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import de.egladil.web.commons_validation.annotations.StringLatin;
 
 /**
@@ -21,6 +25,10 @@ public class ChecklisteTemplateItem {
 	@NotBlank
 	private String name;
 
+	/* wird beim ersten Sortieren aus dem Namen berechnet */
+	@JsonIgnore
+	private transient CollationKey sortierschluessel;
+
 	public static ChecklisteTemplateItem create(final String name, final Checklistentyp typ) {
 
 		ChecklisteTemplateItem result = new ChecklisteTemplateItem();
@@ -39,6 +47,20 @@ public class ChecklisteTemplateItem {
 		return name;
 	}
 
+	/**
+	 * @return CollationKey zum Namen, siehe Sortierschluessel
+	 */
+	@JsonIgnore
+	public CollationKey getSortierschluessel() {
+
+		if (sortierschluessel == null) {
+
+			sortierschluessel = Sortierschluessel.erzeugen(name);
+		}
+
+		return sortierschluessel;
+	}
+
 	@Override
 	public int hashCode() {
 
@@ -89,6 +111,7 @@ public class ChecklisteTemplateItem {
 	public void setName(final String name) {
 
 		this.name = name;
+		this.sortierschluessel = null;
 	}
 
 }
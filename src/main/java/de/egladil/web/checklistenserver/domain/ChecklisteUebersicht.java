@@ -0,0 +1,87 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.domain;
+
+/**
+ * ChecklisteUebersicht enthält das, was die Übersicht einer Checkliste braucht, ohne die Items. Wird per JPQL-Projektion direkt
+ * aus den Spalten von CHECKLISTEN erzeugt, so dass DATEN nicht gelesen wird.
+ */
+public class ChecklisteUebersicht {
+
+	private String kuerzel;
+
+	private String name;
+
+	private Checklistentyp typ;
+
+	private String gruppe;
+
+	private int version;
+
+	private int anzahlItems;
+
+	private int anzahlErledigt;
+
+	/**
+	 * Erzeugt eine Instanz von ChecklisteUebersicht
+	 */
+	public ChecklisteUebersicht() {
+
+	}
+
+	/**
+	 * Erzeugt eine Instanz von ChecklisteUebersicht. Konstruktor für die JPQL-Projektion.
+	 */
+	public ChecklisteUebersicht(final String kuerzel, final String name, final Checklistentyp typ, final String gruppe, final int version, final int anzahlItems, final int anzahlErledigt) {
+
+		this.kuerzel = kuerzel;
+		this.name = name;
+		this.typ = typ;
+		this.gruppe = gruppe;
+		this.version = version;
+		this.anzahlItems = anzahlItems;
+		this.anzahlErledigt = anzahlErledigt;
+	}
+
+	public String getKuerzel() {
+
+		return kuerzel;
+	}
+
+	public String getName() {
+
+		return name;
+	}
+
+	public void setName(final String name) {
+
+		this.name = name;
+	}
+
+	public Checklistentyp getTyp() {
+
+		return typ;
+	}
+
+	public String getGruppe() {
+
+		return gruppe;
+	}
+
+	public int getVersion() {
+
+		return version;
+	}
+
+	public int getAnzahlItems() {
+
+		return anzahlItems;
+	}
+
+	public int getAnzahlErledigt() {
+
+		return anzahlErledigt;
+	}
+}
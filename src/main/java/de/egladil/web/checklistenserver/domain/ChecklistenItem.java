@@ -22,9 +22,24 @@ public class ChecklistenItem implements Serializable {
 	/* serialVersionUID */
 	private static final long serialVersionUID = 1L;
 
+	/** Maximale Länge eines Namens, wie ihn der Client eingibt. */
+	public static final int MAX_LAENGE_NAME = 100;
+
+	/** Maximale Länge eines Kommentars, wie ihn der Client eingibt. */
+	public static final int MAX_LAENGE_KOMMENTAR = 4000;
+
+	/** Encode.forHtml macht aus einem Zeichen höchstens 5 (&amp;amp;, &amp;#34;, &amp;#39;). */
+	public static final int FAKTOR_KODIERT = 5;
+
+	/** Maximale Länge eines gespeicherten, also für HTML kodierten Namens. */
+	public static final int MAX_LAENGE_NAME_KODIERT = MAX_LAENGE_NAME * FAKTOR_KODIERT;
+
+	/** Maximale Länge eines gespeicherten, also für HTML kodierten Kommentars. */
+	public static final int MAX_LAENGE_KOMMENTAR_KODIERT = MAX_LAENGE_KOMMENTAR * FAKTOR_KODIERT;
+
 	@StringLatin
 	@NotBlank
-	@Size(max = 100)
+	@Size(max = MAX_LAENGE_NAME)
 	private String name;
 
 	private boolean markiert;
@@ -34,7 +49,7 @@ public class ChecklistenItem implements Serializable {
 	private boolean erledigt;
 
 	@StringLatin
-	@Size(max = 4000)
+	@Size(max = MAX_LAENGE_KOMMENTAR)
 	private String kommentar;
 
 	public static ChecklistenItem fromName(final String name) {
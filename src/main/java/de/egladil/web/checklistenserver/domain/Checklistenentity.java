@@ -14,6 +14,19 @@ import de.egladil.web.commons_validation.payload.HateoasPayload;
  */
 public interface Checklistenentity extends Serializable {
 
+	/**
+	 * Tabelle, aus der die Entities ihre Ids in Blöcken holen. Anders als bei IDENTITY kennt Hibernate die Id dann schon vor dem
+	 * INSERT und kann mehrere INSERTs als JDBC-Batch schicken.
+	 */
+	String ID_GENERATOR_TABLE = "ID_GENERATOR";
+
+	String ID_GENERATOR_PK_COLUMN = "SEQ_NAME";
+
+	String ID_GENERATOR_VALUE_COLUMN = "NEXT_VAL";
+
+	/* so viele Ids je Zugriff auf ID_GENERATOR, passend zu quarkus.hibernate-orm.jdbc.statement-batch-size */
+	int ID_ALLOCATION_SIZE = 50;
+
 	Long getId();
 
 	/**
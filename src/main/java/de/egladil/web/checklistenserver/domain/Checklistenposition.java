@@ -0,0 +1,132 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import javax.persistence.Transient;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import de.egladil.web.commons_validation.payload.HateoasPayload;
+
+/**
+ * Checklistenposition ist ein ChecklistenItem als Zeile der Tabelle CHECKLISTEN_ITEMS. Wird nur mit der Build-Property
+ * checkliste.items=tabelle verwendet; sonst stehen die Items im JSON in CHECKLISTEN.DATEN.
+ */
+@Entity
+@Table(name = "CHECKLISTEN_ITEMS")
+public class Checklistenposition implements Checklistenentity {
+
+	/* serialVersionUID */
+	private static final long serialVersionUID = 1L;
+
+	public static Checklistenposition create(final Long checklisteId, final int position, final ChecklistenItem item) {
+
+		Checklistenposition result = new Checklistenposition();
+		result.checklisteId = checklisteId;
+		result.position = position;
+		result.name = item.getName();
+		result.markiert = item.isMarkiert();
+		result.optional = item.isOptional();
+		result.erledigt = item.isErledigt();
+		result.kommentar = item.getKommentar();
+		return result;
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "CHECKLISTEN_ITEMS_ID")
+	@TableGenerator(name = "CHECKLISTEN_ITEMS_ID", table = ID_GENERATOR_TABLE, pkColumnName = ID_GENERATOR_PK_COLUMN,
+		valueColumnName = ID_GENERATOR_VALUE_COLUMN, pkColumnValue = "CHECKLISTEN_ITEMS", allocationSize = ID_ALLOCATION_SIZE)
+	@Column(name = "ID")
+	private Long id;
+
+	@NotNull
+	@Column(name = "CHECKLISTE_ID")
+	private Long checklisteId;
+
+	@Column(name = "POSITION")
+	private int position;
+
+	/* kodiert gespeichert, daher länger als die Eingabe */
+	@NotBlank
+	@Size(max = ChecklistenItem.MAX_LAENGE_NAME_KODIERT)
+	@Column(name = "NAME")
+	private String name;
+
+	@Column(name = "MARKIERT")
+	private boolean markiert;
+
+	@Column(name = "OPTIONAL")
+	private boolean optional;
+
+	@Column(name = "ERLEDIGT")
+	private boolean erledigt;
+
+	@Size(max = ChecklistenItem.MAX_LAENGE_KOMMENTAR_KODIERT)
+	@Column(name = "KOMMENTAR")
+	private String kommentar;
+
+	@Transient
+	private HateoasPayload hateoasPayload;
+
+	/**
+	 * @return ChecklistenItem neu erzeugt
+	 */
+	public ChecklistenItem toItem() {
+
+		ChecklistenItem result = ChecklistenItem.fromName(name);
+		result.setMarkiert(markiert);
+		result.setOptional(optional);
+		result.setErledigt(erledigt);
+		result.setKommentar(kommentar);
+		return result;
+	}
+
+	@Override
+	public Long getId() {
+
+		return id;
+	}
+
+	public Long getChecklisteId() {
+
+		return checklisteId;
+	}
+
+	public int getPosition() {
+
+		return position;
+	}
+
+	public String getName() {
+
+		return name;
+	}
+
+	@Override
+	public HateoasPayload getHateoasPayload() {
+
+		return hateoasPayload;
+	}
+
+	@Override
+	public void setHateoasPayload(final HateoasPayload hateoasPayload) {
+
+		this.hateoasPayload = hateoasPayload;
+	}
+
+	@Override
+	public String toString() {
+
+		return "Checklistenposition [checklisteId=" + checklisteId + ", position=" + position + "]";
+	}
+}
@@ -14,6 +14,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.persistence.Transient;
 import javax.persistence.Version;
 import javax.validation.constraints.NotNull;
@@ -36,7 +37,9 @@ public class Checklistenuser implements Checklistenentity {
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "USERS_ID")
+	@TableGenerator(name = "USERS_ID", table = ID_GENERATOR_TABLE, pkColumnName = ID_GENERATOR_PK_COLUMN,
+		valueColumnName = ID_GENERATOR_VALUE_COLUMN, pkColumnValue = "USERS", allocationSize = ID_ALLOCATION_SIZE)
 	@Column(name = "ID")
 	@JsonIgnore
 	private Long id;
@@ -0,0 +1,119 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import javax.persistence.Transient;
+import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.apache.commons.lang3.StringUtils;
+
+import de.egladil.web.commons_validation.payload.HateoasPayload;
+
+/**
+ * Listenvorlage ist das Template einer Gruppe für einen Checklistentyp. Die Namen stehen wie in den Template-Dateien eine pro
+ * Zeile in der Spalte NAMEN.<br>
+ * <br>
+ * VERSION ist absichtlich keine JPA-@Version: sie wird in IListenvorlageDao per bedingtem Update hochgezählt und ist das
+ * Versions-Token des ChecklisteTemplates (readTime). 0 heißt, es gibt noch keine Listenvorlage.
+ */
+@Entity
+@Table(name = "LISTENVORLAGEN", uniqueConstraints = @UniqueConstraint(columnNames = { "GRUPPE", "TYP" }))
+public class Listenvorlage implements Checklistenentity {
+
+	/* serialVersionUID */
+	private static final long serialVersionUID = 1L;
+
+	public static Listenvorlage create(final String gruppe, final Checklistentyp typ, final String namen) {
+
+		Listenvorlage result = new Listenvorlage();
+		result.gruppe = gruppe;
+		result.typ = typ;
+		result.namen = namen;
+		result.version = 1;
+		return result;
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "LISTENVORLAGEN_ID")
+	@TableGenerator(name = "LISTENVORLAGEN_ID", table = ID_GENERATOR_TABLE, pkColumnName = ID_GENERATOR_PK_COLUMN,
+		valueColumnName = ID_GENERATOR_VALUE_COLUMN, pkColumnValue = "LISTENVORLAGEN", allocationSize = ID_ALLOCATION_SIZE)
+	@Column(name = "ID")
+	private Long id;
+
+	@NotNull
+	@Size(min = 1, max = 36)
+	@Column(name = "GRUPPE")
+	private String gruppe;
+
+	@NotNull
+	@Enumerated(EnumType.STRING)
+	@Column(name = "TYP")
+	private Checklistentyp typ;
+
+	@NotNull
+	@Column(name = "NAMEN")
+	private String namen;
+
+	@Column(name = "VERSION")
+	private long version;
+
+	@Transient
+	private HateoasPayload hateoasPayload;
+
+	@Override
+	public Long getId() {
+
+		return id;
+	}
+
+	public String getGruppe() {
+
+		return gruppe;
+	}
+
+	public Checklistentyp getTyp() {
+
+		return typ;
+	}
+
+	public String getNamen() {
+
+		return namen;
+	}
+
+	public long getVersion() {
+
+		return version;
+	}
+
+	@Override
+	public HateoasPayload getHateoasPayload() {
+
+		return hateoasPayload;
+	}
+
+	@Override
+	public void setHateoasPayload(final HateoasPayload hateoasPayload) {
+
+		this.hateoasPayload = hateoasPayload;
+	}
+
+	@Override
+	public String toString() {
+
+		return "Listenvorlage [gruppe=" + StringUtils.abbreviate(gruppe, 11) + ", typ=" + typ + ", version=" + version + "]";
+	}
+}
@@ -13,6 +13,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 import javax.persistence.Transient;
 import javax.persistence.Version;
 import javax.validation.constraints.NotBlank;
@@ -31,7 +32,9 @@ public class Pacemaker implements Checklistenentity {
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "PACEMAKERS_ID")
+	@TableGenerator(name = "PACEMAKERS_ID", table = ID_GENERATOR_TABLE, pkColumnName = ID_GENERATOR_PK_COLUMN,
+		valueColumnName = ID_GENERATOR_VALUE_COLUMN, pkColumnValue = "PACEMAKERS", allocationSize = ID_ALLOCATION_SIZE)
 	@Column(name = "ID")
 	private Long id;
 
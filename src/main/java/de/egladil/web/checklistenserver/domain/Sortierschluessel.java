@@ -0,0 +1,38 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.domain;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Locale;
+
+/**
+ * Sortierschluessel erzeugt die CollationKeys für die alphabetische Sortierung von Namen (deutsch, Groß-/Kleinschreibung und
+ * Umlaute egal). Ein CollationKey wird einmal je Name berechnet, danach ist jeder Vergleich ein einfacher Vergleich von Bytes.
+ */
+public final class Sortierschluessel {
+
+	/* Collator ist nicht threadsafe und teuer zu erzeugen, daher einer je Thread. */
+	private static final ThreadLocal<Collator> COLLATOR = ThreadLocal.withInitial(() -> {
+
+		Collator result = Collator.getInstance(Locale.GERMAN);
+		result.setStrength(Collator.PRIMARY);
+		return result;
+	});
+
+	private Sortierschluessel() {
+
+	}
+
+	/**
+	 * @param  name
+	 *              String darf nicht null sein.
+	 * @return      CollationKey. getSourceString() liefert den Namen.
+	 */
+	public static CollationKey erzeugen(final String name) {
+
+		return COLLATOR.get().getCollationKey(name);
+	}
+}
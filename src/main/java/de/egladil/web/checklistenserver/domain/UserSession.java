@@ -25,7 +25,11 @@ public class UserSession implements Principal, Serializable {
 
 	private String roles;
 
-	private long expiresAt;
+	private volatile long expiresAt;
+
+	/* wird beim Login gesetzt, damit nicht jeder Request USERS lesen muss. */
+	@JsonIgnore
+	private volatile String gruppe;
 
 	public static UserSession create(final String uuid, final String sessionId, final String roles, final String idReference) {
 
@@ -67,6 +71,16 @@ public class UserSession implements Principal, Serializable {
 		this.expiresAt = expiresAt;
 	}
 
+	public String getGruppe() {
+
+		return gruppe;
+	}
+
+	public void setGruppe(final String gruppe) {
+
+		this.gruppe = gruppe;
+	}
+
 	@Override
 	public String toString() {
 
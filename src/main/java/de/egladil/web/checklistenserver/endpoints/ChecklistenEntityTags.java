@@ -0,0 +1,106 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.endpoints;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteTemplate;
+import de.egladil.web.checklistenserver.domain.ChecklisteUebersicht;
+
+/**
+ * ChecklistenEntityTags erzeugt die (schwachen) ETags für Checklisten aus den Versionen, so dass sie ohne die Spalte DATEN
+ * berechnet werden können.
+ */
+final class ChecklistenEntityTags {
+
+	/**
+	 * Darf vom Browser gespeichert werden, muss aber vor jeder Verwendung per If-None-Match geprüft werden. Ersetzt für diese
+	 * Responses das no-store des SecureHeadersFilters.
+	 */
+	static final CacheControl CACHE_CONTROL = createCacheControl();
+
+	/**
+	 * Für Antworten, die von der Session abhängen, aber nicht im Pfad unterscheidbar sind (z.B. GET /templates).
+	 */
+	static final String VARY_SESSION = "Origin, Cookie, X-SESSIONID";
+
+	private ChecklistenEntityTags() {
+
+	}
+
+	private static CacheControl createCacheControl() {
+
+		CacheControl result = new CacheControl();
+		result.setPrivate(true);
+		result.setNoCache(true);
+		result.setNoTransform(false);
+		return result;
+	}
+
+	/**
+	 * @param  uebersicht
+	 *                    ChecklisteUebersicht
+	 * @return            EntityTag aus der Version der Checkliste.
+	 */
+	static EntityTag fuerCheckliste(final ChecklisteUebersicht uebersicht) {
+
+		return new EntityTag(String.valueOf(uebersicht.getVersion()), true);
+	}
+
+	/**
+	 * Die maximale Version allein reicht nicht, weil sich die Versionen der einzelnen Checklisten unabhängig voneinander erhöhen.
+	 * Daher geht jedes Paar (kuerzel, version) in einen Hash ein, dazu die Anzahl.
+	 *
+	 * @param  uebersichten
+	 *                      List alle Checklisten einer Gruppe
+	 * @param  summary
+	 *                      boolean ob die Übersicht oder die vollständigen Checklisten geliefert werden.
+	 * @return              EntityTag
+	 */
+	static EntityTag fuerSammlung(final List<ChecklisteUebersicht> uebersichten, final boolean summary) {
+
+		List<ChecklisteUebersicht> sortiert = uebersichten.stream().sorted(Comparator.comparing(ChecklisteUebersicht::getKuerzel))
+			.collect(Collectors.toList());
+
+		long hash = 17;
+
+		for (ChecklisteUebersicht uebersicht : sortiert) {
+
+			hash = 31 * hash + uebersicht.getKuerzel().hashCode();
+			hash = 31 * hash + uebersicht.getVersion();
+		}
+
+		return new EntityTag((summary ? "s-" : "") + sortiert.size() + "-" + Long.toHexString(hash), true);
+	}
+
+	/**
+	 * Die Templates haben keine Version, aber ihren readTime, der sich mit jeder Änderung der Listenvorlage erhöht. Die Gruppe
+	 * geht mit ein, weil sonst nach einem Userwechsel im selben Browser die Templates der vorigen Gruppe mit 304 bestätigt
+	 * würden.
+	 *
+	 * @param  gruppe
+	 *                   String
+	 * @param  templates
+	 *                   List alle Templates der Gruppe
+	 * @return           EntityTag
+	 */
+	static EntityTag fuerTemplates(final String gruppe, final List<ChecklisteTemplate> templates) {
+
+		long hash = 17 * 31 + gruppe.hashCode();
+
+		for (ChecklisteTemplate template : templates) {
+
+			hash = 31 * hash + template.getTyp().ordinal();
+			hash = 31 * hash + Long.hashCode(template.getReadTime());
+		}
+
+		return new EntityTag("t-" + templates.size() + "-" + Long.toHexString(hash), true);
+	}
+}
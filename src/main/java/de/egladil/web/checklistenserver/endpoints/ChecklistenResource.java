@@ -7,7 +7,9 @@ package de.egladil.web.checklistenserver.endpoints;
 
 import java.net.URI;
 import java.security.Principal;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.annotation.security.PermitAll;
@@ -15,15 +17,21 @@ import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.PATCH;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
 
@@ -32,9 +40,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.ChecklisteUebersicht;
 import de.egladil.web.checklistenserver.domain.UserSession;
 import de.egladil.web.checklistenserver.error.AuthException;
+import de.egladil.web.checklistenserver.payload.ChecklistePatch;
+import de.egladil.web.checklistenserver.payload.ChecklisteSpeicherergebnis;
 import de.egladil.web.checklistenserver.sanitize.ChecklisteDatenSanitizer;
+import de.egladil.web.checklistenserver.sanitize.ChecklisteUebersichtSanitizer;
 import de.egladil.web.checklistenserver.service.ChecklistenService;
 import de.egladil.web.checklistenserver.service.ChecklistenSessionService;
 import de.egladil.web.commons_validation.ValidationDelegate;
@@ -52,6 +64,9 @@ public class ChecklistenResource {
 
 	private static final Logger LOG = LoggerFactory.getLogger(ChecklistenResource.class);
 
+	/* höchstens so viele Checklisten je PUT /checklisten */
+	private static final int MAX_ANZAHL_BATCH = 100;
+
 	@Inject
 	ChecklistenService checklistenService;
 
@@ -68,9 +83,17 @@ public class ChecklistenResource {
 
 	private final ChecklisteDatenSanitizer checklisteDatenSanitizer = new ChecklisteDatenSanitizer();
 
+	private final ChecklisteUebersichtSanitizer checklisteUebersichtSanitizer = new ChecklisteUebersichtSanitizer();
+
+	/**
+	 * @param  summary
+	 *                 boolean wenn true, nur die Übersicht ohne Items. Die Items einer Checkliste gibt es dann über
+	 *                 /checkliste/{kuerzel}.
+	 * @return         Response 304, wenn sich seit dem mitgesendeten ETag keine Checkliste der Gruppe geändert hat.
+	 */
 	@GET
 	@PermitAll
-	public Response getChecklisten() {
+	public Response getChecklisten(@QueryParam("summary") @DefaultValue("false") final boolean summary, @Context final Request request) {
 
 		LOG.debug("entering getChecklisten");
 
@@ -78,7 +101,23 @@ public class ChecklistenResource {
 
 		LOG.debug("Alles gut: session vorhanden");
 
-		List<ChecklisteDaten> checklisten = checklistenService.loadChecklisten(userSession.getUuid());
+		List<ChecklisteUebersicht> uebersichten = checklistenService.loadUebersicht(userSession);
+
+		EntityTag entityTag = ChecklistenEntityTags.fuerSammlung(uebersichten, summary);
+		ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+
+		if (notModified != null) {
+
+			LOG.debug("{}: checklisten nicht geändert", getStringAbbreviated(userSession.getUuid()));
+			return notModified.cacheControl(ChecklistenEntityTags.CACHE_CONTROL).build();
+		}
+
+		if (summary) {
+
+			return getUebersicht(userSession, uebersichten, entityTag);
+		}
+
+		List<ChecklisteDaten> checklisten = checklistenService.loadChecklisten(uebersichten);
 
 		List<ChecklisteDaten> sanitized = checklisten.stream().map(daten -> checklisteDatenSanitizer.apply(daten))
 			.collect(Collectors.toList());
@@ -88,22 +127,52 @@ public class ChecklistenResource {
 
 		LOG.info("{}: checklisten geladen", getStringAbbreviated(userSession.getUuid()));
 
-		return Response.ok().entity(payload).build();
+		return Response.ok().entity(payload).tag(entityTag).cacheControl(ChecklistenEntityTags.CACHE_CONTROL).build();
 		// return Response.status(500).entity(ResponsePayload.messageOnly(MessagePayload.error("Das ist ein Testfehler"))).build();
 	}
 
+	private Response getUebersicht(final UserSession userSession, final List<ChecklisteUebersicht> uebersichten, final EntityTag entityTag) {
+
+		List<ChecklisteUebersicht> sanitized = uebersichten.stream()
+			.map(uebersicht -> checklisteUebersichtSanitizer.apply(uebersicht)).collect(Collectors.toList());
+
+		ResponsePayload payload = new ResponsePayload(MessagePayload.info("OK: Anzahl Checklisten: " + sanitized.size()),
+			sanitized);
+
+		LOG.info("{}: checklisten-Übersicht geladen", getStringAbbreviated(userSession.getUuid()));
+
+		return Response.ok().entity(payload).tag(entityTag).cacheControl(ChecklistenEntityTags.CACHE_CONTROL).build();
+	}
+
+	/**
+	 * @param  kuerzel
+	 *                 String
+	 * @return         Response 304, wenn sich die Checkliste seit dem mitgesendeten ETag nicht geändert hat.
+	 */
 	@GET
 	@Path("/checkliste/{kuerzel}")
 	@PermitAll
 	public Response getCheckliste(@PathParam(
-		value = "kuerzel") final String kuerzel) {
+		value = "kuerzel") final String kuerzel, @Context final Request request) {
 
 		UserSession userSession = getUserSession();
-		ChecklisteDaten checkliste = checklistenService.getCheckliste(kuerzel, userSession.getUuid());
+
+		// die Version reicht für den ETag: DATEN wird erst gelesen, wenn sich die Checkliste geändert hat.
+		ChecklisteUebersicht uebersicht = checklistenService.getUebersicht(kuerzel, userSession);
+
+		EntityTag entityTag = ChecklistenEntityTags.fuerCheckliste(uebersicht);
+		ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+
+		if (notModified != null) {
+
+			return notModified.cacheControl(ChecklistenEntityTags.CACHE_CONTROL).build();
+		}
+
+		ChecklisteDaten checkliste = checklistenService.getCheckliste(uebersicht);
 
 		ChecklisteDaten sanitized = checklisteDatenSanitizer.apply(checkliste);
 
-		return Response.ok(sanitized).build();
+		return Response.ok(sanitized).tag(entityTag).cacheControl(ChecklistenEntityTags.CACHE_CONTROL).build();
 	}
 
 	@POST
@@ -114,7 +183,7 @@ public class ChecklistenResource {
 
 		UserSession userSession = getUserSession();
 
-		ChecklisteDaten result = checklistenService.createCheckliste(daten.getTyp(), daten.getName(), userSession.getUuid());
+		ChecklisteDaten result = checklistenService.createCheckliste(daten.getTyp(), daten.getName(), userSession);
 
 		result = checklisteDatenSanitizer.apply(result);
 
@@ -152,12 +221,76 @@ public class ChecklistenResource {
 
 		this.validationDelegate.check(daten, ChecklisteDaten.class);
 
-		ResponsePayload payload = checklistenService.changeAndSanitizeCheckliste(daten, kuerzel, userSession.getUuid());
+		ResponsePayload payload = checklistenService.changeAndSanitizeCheckliste(daten, kuerzel, userSession);
 		LOG.info("{}: checkliste {} geändert", getStringAbbreviated(userSession.getUuid()),
 			getStringAbbreviated(kuerzel));
 		return Response.ok(payload).build();
 	}
 
+	/**
+	 * Ändert einzelne Items statt die ganze Checkliste zu ersetzen, z.B. nur erledigt eines Items. Die Antwort enthält nur die
+	 * geänderten Items.
+	 */
+	@PATCH
+	@Path("/checkliste/{kuerzel}")
+	@PermitAll
+	public Response checklistePatchen(@PathParam(
+		value = "kuerzel") final String kuerzel, final ChecklistePatch patch) {
+
+		this.validationDelegate.check(patch, ChecklistePatch.class);
+
+		UserSession userSession = getUserSession();
+
+		ResponsePayload payload = checklistenService.patchCheckliste(kuerzel, patch, userSession);
+		LOG.info("{}: checkliste {} gepatcht ({} Operationen)", getStringAbbreviated(userSession.getUuid()),
+			getStringAbbreviated(kuerzel), patch.getOperationen().size());
+		return Response.ok(payload).build();
+	}
+
+	/**
+	 * Speichert mehrere Checklisten in einer Transaktion. Das Ergebnis enthält je Checkliste den Status und bei einem Konflikt die
+	 * aktuelle Version.
+	 */
+	@PUT
+	@PermitAll
+	public Response checklistenAendern(final List<ChecklisteDaten> datenliste) {
+
+		UserSession userSession = getUserSession();
+
+		if (datenliste == null || datenliste.isEmpty() || datenliste.size() > MAX_ANZAHL_BATCH) {
+
+			LOG.warn("{}: ungültige Anzahl Checklisten im Batch: {}", getStringAbbreviated(userSession.getUuid()),
+				datenliste == null ? 0 : datenliste.size());
+			ResponsePayload payload = ResponsePayload
+				.messageOnly(MessagePayload.error("Es müssen zwischen 1 und " + MAX_ANZAHL_BATCH + " Checklisten sein."));
+			return Response.status(400)
+				.entity(payload)
+				.build();
+		}
+
+		Set<String> kuerzel = new HashSet<>();
+
+		for (ChecklisteDaten daten : datenliste) {
+
+			this.validationDelegate.check(daten, ChecklisteDaten.class);
+
+			if (!kuerzel.add(daten.getKuerzel())) {
+
+				LOG.error("{}: Konflikt: kuerzel '{}' mehrfach im Batch", getStringAbbreviated(userSession.getUuid()),
+					daten.getKuerzel());
+				ResponsePayload payload = ResponsePayload.messageOnly(MessagePayload.error("Precondition Failed"));
+				return Response.status(412)
+					.entity(payload)
+					.build();
+			}
+		}
+
+		List<ChecklisteSpeicherergebnis> ergebnisse = checklistenService.changeChecklisten(datenliste, userSession);
+
+		LOG.info("{}: {} checklisten im Batch gespeichert", getStringAbbreviated(userSession.getUuid()), datenliste.size());
+		return Response.ok(new ResponsePayload(MessagePayload.info("erfolgreich gespeichert"), ergebnisse)).build();
+	}
+
 	@DELETE
 	@Path("/checkliste/{kuerzel}")
 	@PermitAll
@@ -166,7 +299,7 @@ public class ChecklistenResource {
 
 		UserSession userSession = getUserSession();
 
-		checklistenService.deleteCheckliste(kuerzel, userSession.getUuid());
+		checklistenService.deleteCheckliste(kuerzel, userSession);
 
 		ResponsePayload payload = ResponsePayload.messageOnly(MessagePayload.info("erfolgreich gelöscht"));
 
@@ -7,7 +7,6 @@ package de.egladil.web.checklistenserver.endpoints;
 
 import java.security.Principal;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
@@ -18,8 +17,12 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.SecurityContext;
 
 import org.apache.commons.lang3.StringUtils;
@@ -54,12 +57,18 @@ public class ChecklistenTemplateResource {
 	@Inject
 	ChecklistenTemplateProvider templateProvider;
 
+	@Inject
+	TemplatesAntwortCache templatesAntwortCache;
+
 	private final ValidationDelegate validationDelegate = new ValidationDelegate();
 
 	private final ChecklisteTemplateSanitizer checklisteTemplateSanitizer = new ChecklisteTemplateSanitizer();
 
+	/**
+	 * @return Response 304, wenn sich seit dem mitgesendeten ETag keine Listenvorlage der Gruppe geändert hat.
+	 */
 	@GET
-	public Response getTemplates() {
+	public Response getTemplates(@Context final Request request) {
 
 		LOG.debug("entering getChecklisten");
 
@@ -67,17 +76,25 @@ public class ChecklistenTemplateResource {
 
 		LOG.debug("Alles gut: session vorhanden");
 
-		List<ChecklisteTemplate> templates = templateProvider.getTemplates(userSession.getUuid());
+		// die Templates kommen schon sanitiert und bleiben dieselben Objekte, bis sich eine Listenvorlage ändert.
+		List<ChecklisteTemplate> templates = templateProvider.getTemplates(userSession);
+
+		EntityTag entityTag = ChecklistenEntityTags.fuerTemplates(userSession.getGruppe(), templates);
+		ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
 
-		List<ChecklisteTemplate> sanitizedTemplates = templates.stream()
-			.map(template -> checklisteTemplateSanitizer.apply(template)).collect(Collectors.toList());
+		if (notModified != null) {
 
-		ResponsePayload payload = new ResponsePayload(MessagePayload.info("OK: Anzahl Checklisten: " + sanitizedTemplates.size()),
-			sanitizedTemplates);
+			LOG.debug("{}: templates nicht geändert", StringUtils.abbreviate(userSession.getUuid(), 11));
+			return notModified.cacheControl(ChecklistenEntityTags.CACHE_CONTROL)
+				.header(HttpHeaders.VARY, ChecklistenEntityTags.VARY_SESSION).build();
+		}
+
+		byte[] json = templatesAntwortCache.getAntwort(userSession.getGruppe(), templates);
 
 		LOG.debug("{}: checklisten geladen", StringUtils.abbreviate(userSession.getUuid(), 11));
 
-		return Response.ok().entity(payload).build();
+		return Response.ok(json, MediaType.APPLICATION_JSON).tag(entityTag).cacheControl(ChecklistenEntityTags.CACHE_CONTROL)
+			.header(HttpHeaders.VARY, ChecklistenEntityTags.VARY_SESSION).build();
 
 	}
 
@@ -90,9 +107,8 @@ public class ChecklistenTemplateResource {
 			UserSession userSession = getUserSession();
 
 			Checklistentyp typ = Checklistentyp.valueOf(typValue.trim().toUpperCase());
-			ChecklisteTemplate template = templateProvider.getTemplateMitTypFuerGruppe(typ, userSession.getUuid());
+			ChecklisteTemplate sanitized = templateProvider.getTemplateMitTypFuerGruppe(typ, userSession);
 
-			ChecklisteTemplate sanitized = checklisteTemplateSanitizer.apply(template);
 			ResponsePayload payload = new ResponsePayload(MessagePayload.info("Bitteschön"), sanitized);
 			return Response.ok().entity(payload).build();
 		} catch (IllegalArgumentException e) {
@@ -112,9 +128,8 @@ public class ChecklistenTemplateResource {
 
 		try {
 
-			ChecklisteTemplate persisted = templateProvider.templateSpeichern(template, userSession.getUuid());
-
-			ChecklisteTemplate sanitized = checklisteTemplateSanitizer.apply(persisted);
+			// templateSpeichern sanitiert schon
+			ChecklisteTemplate sanitized = templateProvider.templateSpeichern(template, userSession);
 
 			LOG.info("Template {} durch {} geändert.", template.getTyp(), StringUtils.abbreviate(userSession.getUuid(), 11));
 
@@ -0,0 +1,101 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.endpoints;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteTemplate;
+import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
+import de.egladil.web.commons_validation.payload.MessagePayload;
+import de.egladil.web.commons_validation.payload.ResponsePayload;
+
+/**
+ * TemplatesAntwortCache hält je Gruppe die fertig serialisierte Antwort auf GET /templates. Sie bleibt gültig, solange der
+ * ChecklistenTemplateProvider dieselben Template-Objekte liefert, denn der baut ein Template nur nach einer Änderung der
+ * Listenvorlage neu.
+ */
+@ApplicationScoped
+public class TemplatesAntwortCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TemplatesAntwortCache.class);
+
+	@Inject
+	ObjectMapper objectMapper;
+
+	/* gruppe -> Antwort */
+	private final ConcurrentHashMap<String, Antwort> antworten = new ConcurrentHashMap<>();
+
+	/**
+	 * @param  gruppe
+	 *                   String
+	 * @param  templates
+	 *                   List die sanitierten Templates der Gruppe
+	 * @return           byte[] der ResponsePayload als JSON
+	 */
+	byte[] getAntwort(final String gruppe, final List<ChecklisteTemplate> templates) {
+
+		Antwort vorhanden = antworten.get(gruppe);
+
+		if (vorhanden != null && vorhanden.istFuer(templates)) {
+
+			return vorhanden.json;
+		}
+
+		ResponsePayload payload = new ResponsePayload(MessagePayload.info("OK: Anzahl Checklisten: " + templates.size()),
+			templates);
+
+		try {
+
+			Antwort neu = new Antwort(templates, objectMapper.writeValueAsBytes(payload));
+			antworten.put(gruppe, neu);
+			return neu.json;
+		} catch (JsonProcessingException e) {
+
+			LOG.error("Templates konnten nicht serialisiert werden: {}", e.getMessage());
+			throw new ChecklistenRuntimeException("Templates konnten nicht serialisiert werden", e);
+		}
+	}
+
+	private static class Antwort {
+
+		private final List<ChecklisteTemplate> templates;
+
+		private final byte[] json;
+
+		Antwort(final List<ChecklisteTemplate> templates, final byte[] json) {
+
+			this.templates = templates;
+			this.json = json;
+		}
+
+		boolean istFuer(final List<ChecklisteTemplate> andere) {
+
+			if (templates.size() != andere.size()) {
+
+				return false;
+			}
+
+			for (int i = 0; i < templates.size(); i++) {
+
+				if (templates.get(i) != andere.get(i)) {
+
+					return false;
+				}
+			}
+
+			return true;
+		}
+	}
+}
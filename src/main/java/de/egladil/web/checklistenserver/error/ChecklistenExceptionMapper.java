@@ -5,6 +5,7 @@
 
 package de.egladil.web.checklistenserver.error;
 
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.NoContentException;
@@ -73,6 +74,12 @@ public class ChecklistenExceptionMapper implements ExceptionMapper<Exception> {
 			return Response.status(404).entity(payload).build();
 		}
 
+		if (exception instanceof BadRequestException) {
+
+			ResponsePayload payload = ResponsePayload.messageOnly(MessagePayload.error(exception.getMessage()));
+			return Response.status(400).entity(payload).build();
+		}
+
 		if (exception instanceof ConcurrentUpdateException) {
 
 			ResponsePayload payload = ResponsePayload.messageOnly(MessagePayload.warn(exception.getMessage()));
@@ -5,10 +5,7 @@
 package de.egladil.web.checklistenserver.filters;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import javax.annotation.Priority;
 import javax.enterprise.context.ApplicationScoped;
@@ -43,7 +40,8 @@ public class AuthorizationFilter implements ContainerRequestFilter {
 
 	private static final Logger LOG = LoggerFactory.getLogger(AuthorizationFilter.class);
 
-	private static final List<String> AUTHORIZED_PATHS = Arrays.asList(new String[] { "/checklisten", "/templates", "/signup" });
+	/* Präfixe ohne Großbuchstaben: verglichen wird ohne Beachtung der Groß- und Kleinschreibung. */
+	private static final String[] AUTHORIZED_PATHS = { "/checklisten", "/templates", "/signup" };
 
 	@Inject
 	ConfigService config;
@@ -75,7 +73,7 @@ public class AuthorizationFilter implements ContainerRequestFilter {
 
 			if (sessionId != null) {
 
-				UserSession userSession = sessionService.getSession(sessionId);
+				UserSession userSession = sessionService.validateAndTouch(sessionId);
 
 				if (userSession == null) {
 
@@ -83,8 +81,7 @@ public class AuthorizationFilter implements ContainerRequestFilter {
 					throw new SessionExpiredException("keine gültige Session vorhanden");
 				}
 
-				UserSession refrehedSession = sessionService.refresh(sessionId);
-				ChecklistenSecurityContext securityContext = new ChecklistenSecurityContext(refrehedSession);
+				ChecklistenSecurityContext securityContext = new ChecklistenSecurityContext(userSession);
 				requestContext.setSecurityContext(securityContext);
 
 				LOG.debug("UserSession in SecurityContext gesetzt.");
@@ -110,11 +107,18 @@ public class AuthorizationFilter implements ContainerRequestFilter {
 		System.out.println("==== End read cookies ====");
 	}
 
-	private boolean needsSession(final String path) {
+	static boolean needsSession(final String path) {
 
-		Optional<String> optPath = AUTHORIZED_PATHS.stream().filter(p -> path.toLowerCase().startsWith(p)).findFirst();
+		// regionMatches statt toLowerCase().startsWith(): läuft bei jedem Request und soll nichts allokieren.
+		for (String authorizedPath : AUTHORIZED_PATHS) {
 
-		return optPath.isPresent();
+			if (path.regionMatches(true, 0, authorizedPath, 0, authorizedPath.length())) {
+
+				return true;
+			}
+		}
+
+		return false;
 	}
 
 }
@@ -6,8 +6,13 @@ package de.egladil.web.checklistenserver.filters;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.Priority;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -42,6 +47,21 @@ public class OriginReferrerFilter implements ContainerRequestFilter {
 	@Inject
 	ConfigService config;
 
+	/* aus config.getTargetOrigin(), null wenn nicht konfiguriert */
+	private Set<String> allowedOrigins;
+
+	@PostConstruct
+	void init() {
+
+		final String targetOrigin = config.getTargetOrigin();
+
+		if (targetOrigin != null) {
+
+			allowedOrigins = Collections.unmodifiableSet(Stream.of(targetOrigin.split(",")).map(String::trim)
+				.filter(StringUtils::isNotEmpty).collect(Collectors.toSet()));
+		}
+	}
+
 	@Override
 	public void filter(final ContainerRequestContext requestContext) throws IOException {
 
@@ -86,27 +106,25 @@ public class OriginReferrerFilter implements ContainerRequestFilter {
 
 	private void checkHeaderTarget(final String headerValue, final ContainerRequestContext requestContext) throws IOException {
 
-		final String extractedValue = CommonHttpUtils.extractOrigin(headerValue);
-
-		if (extractedValue == null) {
+		if (!istErlaubt(headerValue)) {
 
-			return;
+			final String details = "targetOrigin != extractedOrigin: [targetOrigin=" + config.getTargetOrigin()
+				+ ", extractedOriginOrReferer="
+				+ CommonHttpUtils.extractOrigin(headerValue) + "]";
+			logErrorAndThrow(details, requestContext);
 		}
+	}
 
-		final String targetOrigin = config.getTargetOrigin();
-
-		if (targetOrigin != null) {
-
-			List<String> allowedOrigins = Arrays.asList(targetOrigin.split(","));
+	/**
+	 * @param  headerValue
+	 *                     String Wert des Headers Origin oder Referer
+	 * @return             boolean false, wenn die Origin des Headers nicht zu target.origin gehört.
+	 */
+	boolean istErlaubt(final String headerValue) {
 
-			if (!allowedOrigins.contains(extractedValue)) {
+		final String extractedValue = CommonHttpUtils.extractOrigin(headerValue);
 
-				final String details = "targetOrigin != extractedOrigin: [targetOrigin=" + targetOrigin
-					+ ", extractedOriginOrReferer="
-					+ extractedValue + "]";
-				logErrorAndThrow(details, requestContext);
-			}
-		}
+		return extractedValue == null || allowedOrigins == null || allowedOrigins.contains(extractedValue);
 	}
 
 	private void logErrorAndThrow(final String details, final ContainerRequestContext requestContext) throws IOException {
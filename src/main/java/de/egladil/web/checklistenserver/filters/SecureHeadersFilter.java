@@ -6,87 +6,108 @@
 package de.egladil.web.checklistenserver.filters;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
+import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
+import javax.ws.rs.HttpMethod;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response.Status.Family;
 import javax.ws.rs.ext.Provider;
 
 import de.egladil.web.checklistenserver.ChecklistenServerApp;
 import de.egladil.web.checklistenserver.config.ConfigService;
 
 /**
- * SecureHeadersFilter packt die SecureHeaders in den Response.
+ * SecureHeadersFilter packt die SecureHeaders in den Response. Die Header hängen nur von der Konfiguration ab und werden daher
+ * einmal beim Start zusammengestellt. Header, die die Resource schon gesetzt hat, bleiben unverändert.
  */
 @ApplicationScoped
 @Provider
 public class SecureHeadersFilter implements ContainerResponseFilter {
 
-	private static final String CONTENT_SECURITY_POLICY = "Content-Security-Policy";
+	private static final String CACHE_CONTROL = "Cache-Control";
+
+	private static final String CACHE_CONTROL_NO_STORE = "no-store, no-cache, must-revalidate, max-age=0";
+
+	/*
+	 * Abweichendes Cache-Control für erfolgreiche GETs. Die Version ändert sich nur mit einem Deployment. Was von der Session
+	 * abhängt (Checklisten, Templates), setzt die Resource selbst mit ETag und no-cache.
+	 */
+	private static final String[][] CACHE_CONTROL_ROUTEN = { { "/version", "public, max-age=300" } };
 
 	@Inject
 	ConfigService config;
 
-	@Override
-	public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) throws IOException {
+	private List<Header> headerliste;
 
-		final MultivaluedMap<String, Object> headers = responseContext.getHeaders();
+	@PostConstruct
+	void init() {
 
-		addCORSHeaders(headers);
+		List<Header> result = new ArrayList<>();
 
-		if (headers.get("Cache-Control") == null) {
+		addCORSHeaders(result);
 
-			headers.add("Cache-Control", "no-store, no-cache, must-revalidate, max-age=0");
-		}
+		result.add(new Header("X-Content-Type-Options", "nosniff"));
+		result.add(new Header("X-Frame-Options", "DENY"));
+		result.add(new Header("Server", "Hex"));
+		result.add(new Header("X-Powered-By", "Ponder Stibbons"));
+		result.add(new Header("Vary", "Origin"));
+		result.add(new Header("Content-Security-Policy", "default-src 'self'; "));
 
-		if (headers.get("X-Content-Type-Options") == null) {
+		if (!ChecklistenServerApp.STAGE_DEV.equals(config.getStage())) {
 
-			headers.add("X-Content-Type-Options", "nosniff");
+			result.add(new Header("Strict-Transport-Security", "max-age=63072000; includeSubdomains"));
 		}
 
-		if (headers.get("X-Frame-Options") == null) {
+		result.add(new Header("X-XSS-Protection", "1; mode=block"));
 
-			headers.add("X-Frame-Options", "DENY");
-		}
+		headerliste = Collections.unmodifiableList(result);
+	}
 
-		if (headers.get("Server") == null) {
+	@Override
+	public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) throws IOException {
 
-			headers.add("Server", "Hex");
-		}
+		final MultivaluedMap<String, Object> headers = responseContext.getHeaders();
 
-		if (headers.get("X-Powered-By") == null) {
+		if (!headers.containsKey(CACHE_CONTROL)) {
 
-			headers.add("X-Powered-By", "Ponder Stibbons");
+			headers.add(CACHE_CONTROL, getCacheControl(requestContext, responseContext));
 		}
 
-		if (headers.get("Vary") == null) {
+		for (Header header : headerliste) {
 
-			headers.add("Vary", "Origin");
-		}
-
-		if (headers.get(CONTENT_SECURITY_POLICY) == null) {
+			if (!headers.containsKey(header.name)) {
 
-			responseContext.getHeaders().add(CONTENT_SECURITY_POLICY, "default-src 'self'; ");
+				headers.add(header.name, header.value);
+			}
 		}
+	}
 
-		if (!ChecklistenServerApp.STAGE_DEV.equals(config.getStage()) && headers.get("Strict-Transport-Security") == null) {
+	private String getCacheControl(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
 
-			headers.add("Strict-Transport-Security", "max-age=63072000; includeSubdomains");
+		if (!HttpMethod.GET.equals(requestContext.getMethod()) || responseContext.getStatusInfo().getFamily() != Family.SUCCESSFUL) {
 
+			return CACHE_CONTROL_NO_STORE;
 		}
 
-		if (headers.get("X-XSS-Protection") == null) {
+		String path = requestContext.getUriInfo().getPath();
 
-			headers.add("X-XSS-Protection", "1; mode=block");
-		}
+		for (String[] route : CACHE_CONTROL_ROUTEN) {
 
-		if (headers.get("X-Frame-Options") == null) {
+			if (path.regionMatches(true, 0, route[0], 0, route[0].length())) {
 
-			headers.add("X-Frame-Options", "deny");
+				return route[1];
+			}
 		}
+
+		return CACHE_CONTROL_NO_STORE;
 	}
 
 	/**
@@ -97,35 +118,31 @@ public class SecureHeadersFilter implements ContainerResponseFilter {
 	 *
 	 * @param headers
 	 */
-	private void addCORSHeaders(final MultivaluedMap<String, Object> headers) {
-
-		if (headers.get("Access-Control-Allow-Origin") == null) {
+	private void addCORSHeaders(final List<Header> headers) {
 
-			headers.add("Access-Control-Allow-Origin", config.getAllowedOrigin());
-		}
+		headers.add(new Header("Access-Control-Allow-Origin", config.getAllowedOrigin()));
+		headers.add(new Header("Access-Control-Allow-Credentials", "true"));
 
-		if (headers.get("Access-Control-Allow-Credentials") == null) {
-
-			headers.add("Access-Control-Allow-Credentials", "true");
-		}
-
-		// Achtung: mod-security verbietet standardmäßig PUT und DELETE.
+		// Achtung: mod-security verbietet standardmäßig PUT, PATCH und DELETE.
 		// Daher parallel in /etc/apache2/sites-available/opa-wetterwachs.conf die rule 911100 für checklistenserver entfernen,
 		// sonst bekommt man 403
-		if (headers.get("Access-Control-Allow-Methods") == null) {
+		headers.add(new Header("Access-Control-Allow-Methods", "POST, PUT, PATCH, GET, HEAD, OPTIONS, DELETE"));
+		headers.add(new Header("Access-Control-Allow-Headers",
+			"Content-Type, Accept, X-Requested-With, Content-Disposition, X-SESSIONID, If-None-Match"));
+		headers.add(new Header("Access-Control-Expose-Headers", "ETag"));
+		headers.add(new Header("Access-Control-Max-Age", "3600"));
+	}
 
-			headers.add("Access-Control-Allow-Methods", "POST, PUT, GET, HEAD, OPTIONS, DELETE");
-		}
+	private static class Header {
 
-		if (headers.get("Access-Control-Allow-Headers") == null) {
+		private final String name;
 
-			headers.add("Access-Control-Allow-Headers",
-				"Content-Type, Accept, X-Requested-With, Content-Disposition, X-SESSIONID");
-		}
+		private final String value;
 
-		if (headers.get("Access-Control-Max-Age") == null) {
+		Header(final String name, final String value) {
 
-			headers.add("Access-Control-Max-Age", "3600");
+			this.name = name;
+			this.value = value;
 		}
 	}
 }
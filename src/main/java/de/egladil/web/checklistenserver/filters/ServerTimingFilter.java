@@ -0,0 +1,100 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.filters;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.ext.Provider;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.egladil.web.checklistenserver.config.ConfigService;
+import de.egladil.web.checklistenserver.metrics.Anfragezeiten;
+
+/**
+ * ServerTimingFilter schlüsselt die Dauer eines Requests nach den Messpunkten auf (DAO-Methoden, JSON, Sanitizen, Template-Dateien)
+ * und gibt sie als Header Server-Timing zurück, so dass man sie in den Entwicklertools des Browsers sieht. Dauert ein Request länger
+ * als server-timing.slow-request, wird die Aufschlüsselung zusätzlich geloggt.<br>
+ * <br>
+ * Nur mit server-timing.enabled=true. Sonst wird nichts gebunden und die Messpunkte schauen nur in ein leeres ThreadLocal. Das
+ * Schreiben des Bodys kommt nach den Filtern und ist in total nicht enthalten.
+ */
+@ApplicationScoped
+@Provider
+@PreMatching
+@Priority(1)
+public class ServerTimingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+	@Inject
+	ConfigService config;
+
+	@Inject
+	@ConfigProperty(name = "server-timing.enabled", defaultValue = "false")
+	boolean enabled;
+
+	@Inject
+	@ConfigProperty(name = "server-timing.slow-request", defaultValue = "1s")
+	Duration slowRequest;
+
+	private long slowRequestNanos;
+
+	@PostConstruct
+	void init() {
+
+		slowRequestNanos = slowRequest.toNanos();
+	}
+
+	@Override
+	public void filter(final ContainerRequestContext requestContext) throws IOException {
+
+		if (enabled) {
+
+			Anfragezeiten.starten();
+		}
+	}
+
+	@Override
+	public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) throws IOException {
+
+		if (!enabled) {
+
+			return;
+		}
+
+		Anfragezeiten anfragezeiten = Anfragezeiten.beenden();
+
+		if (anfragezeiten == null) {
+
+			return;
+		}
+
+		long gesamtdauer = anfragezeiten.getGesamtdauer();
+		String serverTiming = anfragezeiten.toServerTiming(gesamtdauer);
+
+		responseContext.getHeaders().add("Server-Timing", serverTiming);
+		// sonst zeigt der Browser die Werte für das Frontend auf einer anderen Origin nicht an
+		responseContext.getHeaders().add("Timing-Allow-Origin", config.getAllowedOrigin());
+
+		if (gesamtdauer > slowRequestNanos) {
+
+			LOG.warn("langsamer Request: {} {} - {} - {}", requestContext.getMethod(), requestContext.getUriInfo().getPath(),
+				responseContext.getStatus(), serverTiming);
+		}
+	}
+}
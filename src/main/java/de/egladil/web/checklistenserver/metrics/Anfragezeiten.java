@@ -0,0 +1,144 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.metrics;
+
+import java.util.Locale;
+
+/**
+ * Anfragezeiten sammelt die Dauern der Messpunkte eines Requests, summiert je Name. Der ServerTimingFilter bindet sie zu Beginn
+ * des Requests an den Thread und gibt sie am Ende als Header Server-Timing aus. Ist die Messung abgeschaltet, ist nichts gebunden
+ * und {@link #erfassen(String, long)} kostet nur den Blick in das ThreadLocal.<br>
+ * <br>
+ * Verschachtelte Messpunkte (z.B. IBaseDao.saveAll und IBaseDao.save) überlappen sich, die Summe kann daher größer als die
+ * Gesamtdauer sein.
+ */
+public final class Anfragezeiten {
+
+	private static final ThreadLocal<Anfragezeiten> AKTUELL = new ThreadLocal<>();
+
+	/* mehr verschiedene Namen werden unter "andere" zusammengefasst */
+	private static final int MAX_NAMEN = 16;
+
+	private static final String ANDERE = "andere";
+
+	private final long start;
+
+	private final String[] namen = new String[MAX_NAMEN];
+
+	private final long[] dauern = new long[MAX_NAMEN];
+
+	private final int[] anzahlen = new int[MAX_NAMEN];
+
+	private int size;
+
+	private Anfragezeiten(final long start) {
+
+		this.start = start;
+	}
+
+	/**
+	 * Beginnt die Messung für den Request des aktuellen Threads.
+	 */
+	public static void starten() {
+
+		AKTUELL.set(new Anfragezeiten(System.nanoTime()));
+	}
+
+	/**
+	 * Beendet die Messung des aktuellen Threads.
+	 *
+	 * @return Anfragezeiten oder null, wenn keine Messung lief.
+	 */
+	public static Anfragezeiten beenden() {
+
+		Anfragezeiten result = AKTUELL.get();
+
+		if (result != null) {
+
+			AKTUELL.remove();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Addiert die Dauer zum Namen, falls für den aktuellen Thread gemessen wird.
+	 *
+	 * @param name
+	 *              String ein Token im Sinne von Server-Timing (keine Leerzeichen, Kommas oder Semikolons)
+	 * @param nanos
+	 *              long
+	 */
+	public static void erfassen(final String name, final long nanos) {
+
+		Anfragezeiten anfragezeiten = AKTUELL.get();
+
+		if (anfragezeiten != null) {
+
+			anfragezeiten.add(name, nanos);
+		}
+	}
+
+	private void add(final String name, final long nanos) {
+
+		for (int i = 0; i < size; i++) {
+
+			if (namen[i].equals(name)) {
+
+				dauern[i] += nanos;
+				anzahlen[i]++;
+				return;
+			}
+		}
+
+		if (size < MAX_NAMEN - 1) {
+
+			namen[size] = name;
+		} else if (size == MAX_NAMEN - 1) {
+
+			namen[size] = ANDERE;
+		} else {
+
+			add(ANDERE, nanos);
+			return;
+		}
+
+		dauern[size] = nanos;
+		anzahlen[size] = 1;
+		size++;
+	}
+
+	/**
+	 * @return long Nanosekunden seit {@link #starten()}
+	 */
+	public long getGesamtdauer() {
+
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * @param  gesamtdauer
+	 *                     long Nanosekunden
+	 * @return             String Wert für den Header Server-Timing, z.B.
+	 *                     <code>ChecklisteDao.findByGruppe;dur=1.20;desc="1x", total;dur=5.03</code>
+	 */
+	public String toServerTiming(final long gesamtdauer) {
+
+		StringBuilder sb = new StringBuilder(32 * (size + 1));
+
+		for (int i = 0; i < size; i++) {
+
+			sb.append(namen[i]).append(";dur=").append(millis(dauern[i])).append(";desc=\"").append(anzahlen[i]).append("x\", ");
+		}
+
+		sb.append("total;dur=").append(millis(gesamtdauer));
+		return sb.toString();
+	}
+
+	private static String millis(final long nanos) {
+
+		return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+	}
+}
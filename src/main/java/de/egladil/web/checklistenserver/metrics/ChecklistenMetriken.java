@@ -0,0 +1,95 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.metrics;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Produces;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import de.egladil.web.checklistenserver.service.ChecklisteDatenCache;
+import de.egladil.web.checklistenserver.service.ChecklistenSessionService;
+import de.egladil.web.checklistenserver.service.UserGruppenCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter.Id;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * ChecklistenMetriken meldet beim Start die Gauges für Sessions und Caches an. Die Zahlen werden erst beim Abholen von /metrics
+ * gelesen, die Requests kosten sie nichts.<br>
+ * <br>
+ * Die Timer der Endpoints (http.server.requests), der DAOs (checklisten.dao), des JSON-Mappings (checklisten.json), des
+ * Sanitizens (checklisten.sanitize) und der Template-Dateien (checklisten.templates.io) bekommen zusätzlich Histogramm-Buckets,
+ * damit Prometheus Perzentile berechnen kann.
+ */
+@ApplicationScoped
+public class ChecklistenMetriken {
+
+	private static final String[] HISTOGRAMME = { "http.server.requests", "checklisten." };
+
+	@Inject
+	MeterRegistry meterRegistry;
+
+	@Inject
+	ChecklistenSessionService sessionService;
+
+	@Inject
+	ChecklisteDatenCache checklisteDatenCache;
+
+	@Inject
+	UserGruppenCache userGruppenCache;
+
+	void onStart(@Observes final StartupEvent event) {
+
+		Gauge.builder("checklisten.sessions", sessionService, ChecklistenSessionService::getAnzahlSessions)
+			.description("Anzahl der gehaltenen Sessions").strongReference(true).register(meterRegistry);
+		FunctionCounter.builder("checklisten.sessions.evictions", sessionService, ChecklistenSessionService::getAnzahlEvictions)
+			.register(meterRegistry);
+		FunctionCounter
+			.builder("checklisten.sessions.expirations", sessionService, ChecklistenSessionService::getAnzahlExpirations)
+			.register(meterRegistry);
+
+		Gauge.builder("cache.size", checklisteDatenCache, ChecklisteDatenCache::getAnzahlEintraege).tag("cache", "checklisteDaten")
+			.strongReference(true).register(meterRegistry);
+		Gauge.builder("cache.weight", checklisteDatenCache, ChecklisteDatenCache::getGewicht).tag("cache", "checklisteDaten")
+			.strongReference(true).register(meterRegistry);
+		FunctionCounter.builder("cache.gets", checklisteDatenCache, ChecklisteDatenCache::getAnzahlHits)
+			.tags("cache", "checklisteDaten", "result", "hit").register(meterRegistry);
+		FunctionCounter.builder("cache.gets", checklisteDatenCache, ChecklisteDatenCache::getAnzahlMisses)
+			.tags("cache", "checklisteDaten", "result", "miss").register(meterRegistry);
+		FunctionCounter.builder("cache.evictions", checklisteDatenCache, ChecklisteDatenCache::getAnzahlEvictions)
+			.tag("cache", "checklisteDaten").register(meterRegistry);
+
+		Gauge.builder("cache.size", userGruppenCache, UserGruppenCache::getAnzahlEintraege).tag("cache", "userGruppen")
+			.strongReference(true).register(meterRegistry);
+	}
+
+	@Produces
+	@Singleton
+	MeterFilter histogramme() {
+
+		return new MeterFilter() {
+
+			@Override
+			public DistributionStatisticConfig configure(final Id id, final DistributionStatisticConfig config) {
+
+				for (String prefix : HISTOGRAMME) {
+
+					if (id.getName().startsWith(prefix)) {
+
+						return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+					}
+				}
+
+				return config;
+			}
+		};
+	}
+}
@@ -0,0 +1,31 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import javax.enterprise.util.Nonbinding;
+import javax.interceptor.InterceptorBinding;
+
+/**
+ * Gemessen misst die Dauer jedes Aufrufs einer Bean-Methode als Timer mit den Tags klasse und methode. Anders als @Timed von
+ * Micrometer wirkt es auch an der Klasse und wird vererbt, so dass es an BaseDao für alle DAOs reicht.
+ */
+@Inherited
+@InterceptorBinding
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Gemessen {
+
+	/**
+	 * @return String Name des Timers
+	 */
+	@Nonbinding
+	String value();
+}
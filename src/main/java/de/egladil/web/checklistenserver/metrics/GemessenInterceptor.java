@@ -0,0 +1,77 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.metrics;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.arc.ArcInvocationContext;
+import io.quarkus.arc.Subclass;
+
+/**
+ * GemessenInterceptor meldet die Dauer an den Timer und unter dem Namen Klasse.methode an die {@link Anfragezeiten}.
+ */
+@Gemessen("")
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE)
+public class GemessenInterceptor {
+
+	@Inject
+	MeterRegistry meterRegistry;
+
+	/* Klasse der Bean -> Methode -> Messpunkt: registry.timer() sucht bei jedem Aufruf und baut dafür die Tags neu. */
+	private final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Method, Messpunkt>> messpunkte = new ConcurrentHashMap<>();
+
+	@AroundInvoke
+	Object messen(final InvocationContext context) throws Exception {
+
+		Messpunkt messpunkt = getMesspunkt(context);
+		long start = System.nanoTime();
+
+		try {
+
+			return context.proceed();
+		} finally {
+
+			messpunkt.erfassenSeit(start);
+		}
+	}
+
+	private Messpunkt getMesspunkt(final InvocationContext context) {
+
+		// Quarkus fängt durch eine generierte Unterklasse ab. Für das Tag zählt die Bean-Klasse, nicht BaseDao.
+		Class<?> klasse = context.getTarget() instanceof Subclass ? context.getTarget().getClass().getSuperclass()
+			: context.getTarget().getClass();
+
+		return messpunkte.computeIfAbsent(klasse, k -> new ConcurrentHashMap<>()).computeIfAbsent(context.getMethod(),
+			methode -> new Messpunkt(Timer.builder(getName(context)).tag("klasse", klasse.getSimpleName())
+				.tag("methode", methode.getName()).register(meterRegistry), klasse.getSimpleName() + "." + methode.getName()));
+	}
+
+	private String getName(final InvocationContext context) {
+
+		if (context instanceof ArcInvocationContext) {
+
+			for (Annotation binding : ((ArcInvocationContext) context).getInterceptorBindings()) {
+
+				if (binding instanceof Gemessen) {
+
+					return ((Gemessen) binding).value();
+				}
+			}
+		}
+
+		return "checklisten.aufruf";
+	}
+}
@@ -0,0 +1,50 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Messpunkt meldet eine gemessene Dauer an den Micrometer-Timer und an die {@link Anfragezeiten} des Requests.
+ */
+public final class Messpunkt {
+
+	private final Timer timer;
+
+	private final String name;
+
+	/**
+	 * @param timer
+	 *              Timer
+	 * @param name
+	 *              String der Name in Server-Timing
+	 */
+	public Messpunkt(final Timer timer, final String name) {
+
+		this.timer = timer;
+		this.name = name;
+	}
+
+	/**
+	 * @param nanos
+	 *              long die Dauer in Nanosekunden
+	 */
+	public void erfassen(final long nanos) {
+
+		timer.record(nanos, TimeUnit.NANOSECONDS);
+		Anfragezeiten.erfassen(name, nanos);
+	}
+
+	/**
+	 * @param start
+	 *              long der Wert von System.nanoTime() zu Beginn
+	 */
+	public void erfassenSeit(final long start) {
+
+		erfassen(System.nanoTime() - start);
+	}
+}
@@ -0,0 +1,40 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Messpunkte sind die Timer für Code, der keine Bean ist und daher nicht mit {@link Gemessen} gemessen werden kann. Sie hängen an
+ * der globalen Registry, in die Quarkus auch die Prometheus-Registry einhängt. Ohne Quarkus (Unit-Tests, Benchmarks) messen sie
+ * ins Leere.
+ */
+public final class Messpunkte {
+
+	/** JSON der Spalte CHECKLISTEN.DATEN lesen */
+	public static final Messpunkt JSON_DESERIALISIEREN = create("checklisten.json", "deserialisieren", "json.deserialisieren");
+
+	/** JSON für die Spalte CHECKLISTEN.DATEN schreiben */
+	public static final Messpunkt JSON_SERIALISIEREN = create("checklisten.json", "serialisieren", "json.serialisieren");
+
+	/** Template-Datei lesen */
+	public static final Messpunkt TEMPLATE_LESEN = create("checklisten.templates.io", "lesen", "template.lesen");
+
+	/** Template-Datei schreiben */
+	public static final Messpunkt TEMPLATE_SCHREIBEN = create("checklisten.templates.io", "schreiben", "template.schreiben");
+
+	/** ChecklisteDaten für HTML kodieren */
+	public static final Messpunkt SANITIZE = create("checklisten.sanitize", "checkliste", "sanitize");
+
+	private Messpunkte() {
+
+	}
+
+	private static Messpunkt create(final String timer, final String operation, final String name) {
+
+		return new Messpunkt(Timer.builder(timer).tag("operation", operation).register(Metrics.globalRegistry), name);
+	}
+}
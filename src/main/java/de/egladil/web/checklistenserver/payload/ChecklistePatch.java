@@ -0,0 +1,44 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.payload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * ChecklistePatch sind die Item-Operationen für PATCH /checklisten/checkliste/{kuerzel}. Sie werden nur angewendet, wenn die
+ * Checkliste noch die version hat, auf der sie beruhen.
+ */
+public class ChecklistePatch {
+
+	private int version;
+
+	@NotNull
+	@Size(min = 1, max = 999)
+	@Valid
+	private List<ItemOperation> operationen = new ArrayList<>();
+
+	public static ChecklistePatch create(final int version, final List<ItemOperation> operationen) {
+
+		ChecklistePatch result = new ChecklistePatch();
+		result.version = version;
+		result.operationen = operationen;
+		return result;
+	}
+
+	public int getVersion() {
+
+		return version;
+	}
+
+	public List<ItemOperation> getOperationen() {
+
+		return operationen;
+	}
+}
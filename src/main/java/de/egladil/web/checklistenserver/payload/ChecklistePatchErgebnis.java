@@ -0,0 +1,81 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.payload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+
+/**
+ * ChecklistePatchErgebnis ist die kompakte Antwort auf einen ChecklistePatch: die neue Version, die Zähler und nur die Items, die
+ * sich geändert haben.
+ */
+public class ChecklistePatchErgebnis {
+
+	private String kuerzel;
+
+	private int version;
+
+	private int anzahlItems;
+
+	private int anzahlErledigt;
+
+	/* geänderte und neue Items mit ihrem neuen Stand */
+	private List<ChecklistenItem> geaendert = new ArrayList<>();
+
+	/* Namen der entfernten und der umbenannten Items */
+	private List<String> entfernt = new ArrayList<>();
+
+	public String getKuerzel() {
+
+		return kuerzel;
+	}
+
+	public void setKuerzel(final String kuerzel) {
+
+		this.kuerzel = kuerzel;
+	}
+
+	public int getVersion() {
+
+		return version;
+	}
+
+	public void setVersion(final int version) {
+
+		this.version = version;
+	}
+
+	public int getAnzahlItems() {
+
+		return anzahlItems;
+	}
+
+	public void setAnzahlItems(final int anzahlItems) {
+
+		this.anzahlItems = anzahlItems;
+	}
+
+	public int getAnzahlErledigt() {
+
+		return anzahlErledigt;
+	}
+
+	public void setAnzahlErledigt(final int anzahlErledigt) {
+
+		this.anzahlErledigt = anzahlErledigt;
+	}
+
+	public List<ChecklistenItem> getGeaendert() {
+
+		return geaendert;
+	}
+
+	public List<String> getEntfernt() {
+
+		return entfernt;
+	}
+}
@@ -0,0 +1,58 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.payload;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+
+/**
+ * ChecklisteSpeicherergebnis ist das Ergebnis für eine Checkliste beim Speichern mehrerer Checklisten auf einmal.
+ */
+public class ChecklisteSpeicherergebnis {
+
+	/**
+	 * Status
+	 */
+	public enum Status {
+
+		/** gespeichert, daten ist der neue Stand */
+		GEAENDERT,
+
+		/** nicht gespeichert, weil inzwischen geändert. daten ist der aktuelle Stand. */
+		KONFLIKT,
+
+		/** gibt es nicht (mehr) */
+		NICHT_GEFUNDEN;
+	}
+
+	private String kuerzel;
+
+	private Status status;
+
+	private ChecklisteDaten daten;
+
+	public static ChecklisteSpeicherergebnis create(final String kuerzel, final Status status, final ChecklisteDaten daten) {
+
+		ChecklisteSpeicherergebnis result = new ChecklisteSpeicherergebnis();
+		result.kuerzel = kuerzel;
+		result.status = status;
+		result.daten = daten;
+		return result;
+	}
+
+	public String getKuerzel() {
+
+		return kuerzel;
+	}
+
+	public Status getStatus() {
+
+		return status;
+	}
+
+	public ChecklisteDaten getDaten() {
+
+		return daten;
+	}
+}
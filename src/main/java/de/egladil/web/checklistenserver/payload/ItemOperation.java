@@ -0,0 +1,107 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.payload;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+import de.egladil.web.commons_validation.annotations.StringLatin;
+
+/**
+ * ItemOperation ist eine Änderung an einem Item einer Checkliste. Das Item wird über seinen Namen gefunden, so wie ihn der
+ * Client zuletzt bekommen hat.
+ */
+public class ItemOperation {
+
+	@NotNull
+	private ItemOperationstyp operation;
+
+	/*
+	 * der gespeicherte, kodierte Name, den der Client bekommen hat. Nur bei HINZUFUEGEN die Eingabe, deren Länge prüft dann
+	 * ChecklistePatcher.
+	 */
+	@StringLatin
+	@NotBlank
+	@Size(max = ChecklistenItem.MAX_LAENGE_NAME_KODIERT)
+	private String name;
+
+	@StringLatin
+	@Size(max = ChecklistenItem.MAX_LAENGE_NAME)
+	private String neuerName;
+
+	private boolean wert;
+
+	private boolean optional;
+
+	@StringLatin
+	@Size(max = ChecklistenItem.MAX_LAENGE_KOMMENTAR)
+	private String kommentar;
+
+	public static ItemOperation create(final ItemOperationstyp operation, final String name) {
+
+		ItemOperation result = new ItemOperation();
+		result.operation = operation;
+		result.name = name;
+		return result;
+	}
+
+	public ItemOperationstyp getOperation() {
+
+		return operation;
+	}
+
+	public String getName() {
+
+		return name;
+	}
+
+	public String getNeuerName() {
+
+		return neuerName;
+	}
+
+	public void setNeuerName(final String neuerName) {
+
+		this.neuerName = neuerName;
+	}
+
+	public boolean isWert() {
+
+		return wert;
+	}
+
+	public void setWert(final boolean wert) {
+
+		this.wert = wert;
+	}
+
+	public boolean isOptional() {
+
+		return optional;
+	}
+
+	public void setOptional(final boolean optional) {
+
+		this.optional = optional;
+	}
+
+	public String getKommentar() {
+
+		return kommentar;
+	}
+
+	public void setKommentar(final String kommentar) {
+
+		this.kommentar = kommentar;
+	}
+
+	@Override
+	public String toString() {
+
+		return "ItemOperation [operation=" + operation + ", name=" + name + "]";
+	}
+}
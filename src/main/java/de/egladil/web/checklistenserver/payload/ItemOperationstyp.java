@@ -0,0 +1,29 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.payload;
+
+/**
+ * ItemOperationstyp sind die Änderungen, die PATCH /checklisten/checkliste/{kuerzel} an einem Item vornehmen kann.
+ */
+public enum ItemOperationstyp {
+
+	/** setzt erledigt auf wert */
+	ERLEDIGT,
+
+	/** setzt markiert auf wert */
+	MARKIERT,
+
+	/** hängt ein neues Item mit name, optional und kommentar an */
+	HINZUFUEGEN,
+
+	/** entfernt das Item name */
+	ENTFERNEN,
+
+	/** benennt das Item name in neuerName um */
+	UMBENENNEN,
+
+	/** setzt den kommentar des Items name, null entfernt ihn */
+	KOMMENTIEREN;
+}
@@ -6,29 +6,38 @@ package de.egladil.web.checklistenserver.sanitize;
 
 import java.util.function.Function;
 
-import org.owasp.encoder.Encode;
-
 import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.metrics.Messpunkte;
 
 /**
- * ChecklisteDatenSanitizer
+ * ChecklisteDatenSanitizer kodiert Name, Item-Namen und Kommentare für HTML. Bereits sanitierte Daten (gespeichert mit
+ * Checkliste.DATEN_FORMAT_SANITIZED) werden unverändert zurückgegeben, damit sie nicht bei jedem Lesen erneut kodiert werden.
  */
 public class ChecklisteDatenSanitizer implements Function<ChecklisteDaten, ChecklisteDaten> {
 
 	@Override
 	public ChecklisteDaten apply(final ChecklisteDaten daten) {
 
-		daten.setName(Encode.forHtml(daten.getName()));
+		if (daten.isSanitized()) {
+
+			return daten;
+		}
+
+		long start = System.nanoTime();
+
+		daten.setName(HtmlEncoder.forHtml(daten.getName()));
 		daten.getItems().stream().forEach(item -> {
 
-			item.setName(Encode.forHtml(item.getName()));
+			item.setName(HtmlEncoder.forHtml(item.getName()));
 
 			if (item.getKommentar() != null) {
 
-				item.setKommentar(Encode.forHtml(item.getKommentar()));
+				item.setKommentar(HtmlEncoder.forHtml(item.getKommentar()));
 			}
 		});
 
+		daten.setSanitized(true);
+		Messpunkte.SANITIZE.erfassenSeit(start);
 		return daten;
 	}
 
@@ -6,8 +6,6 @@ package de.egladil.web.checklistenserver.sanitize;
 
 import java.util.function.Function;
 
-import org.owasp.encoder.Encode;
-
 import de.egladil.web.checklistenserver.domain.ChecklisteTemplateItem;
 
 /**
@@ -18,7 +16,7 @@ public class ChecklisteTemplateItemSanitizer implements Function<ChecklisteTempl
 	@Override
 	public ChecklisteTemplateItem apply(final ChecklisteTemplateItem originalitem) {
 
-		ChecklisteTemplateItem result = ChecklisteTemplateItem.create(Encode.forHtml(originalitem.getName()),
+		ChecklisteTemplateItem result = ChecklisteTemplateItem.create(HtmlEncoder.forHtml(originalitem.getName()),
 			originalitem.getTyp());
 		return result;
 	}
@@ -4,9 +4,14 @@
 // =====================================================
 package de.egladil.web.checklistenserver.sanitize;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 
 import de.egladil.web.checklistenserver.domain.ChecklisteTemplate;
+import de.egladil.web.checklistenserver.domain.ChecklisteTemplateItem;
 
 /**
  * ChecklisteTemplateSanitizer
@@ -18,10 +23,21 @@ public class ChecklisteTemplateSanitizer implements Function<ChecklisteTemplate,
 
 		final ChecklisteTemplateItemSanitizer itemSanitizer = new ChecklisteTemplateItemSanitizer();
 
-		ChecklisteTemplate result = ChecklisteTemplate.create(originalTemplate.getTyp());
+		List<ChecklisteTemplateItem> items = new ArrayList<>(originalTemplate.getItems().size());
+		Set<ChecklisteTemplateItem> vorhanden = new HashSet<>();
 
-		originalTemplate.getItems().forEach(item -> result.addItem(itemSanitizer.apply(item)));
+		for (ChecklisteTemplateItem item : originalTemplate.getItems()) {
 
-		return result;
+			ChecklisteTemplateItem sanitized = itemSanitizer.apply(item);
+
+			// wie ChecklisteTemplate.addItem ohne Dubletten, aber ohne die Liste jedes Mal zu durchsuchen
+			if (vorhanden.add(sanitized)) {
+
+				items.add(sanitized);
+			}
+		}
+
+		// readTime ist die Version, gegen die beim Speichern geprüft wird, und muss daher erhalten bleiben.
+		return ChecklisteTemplate.create(originalTemplate.getTyp(), items, originalTemplate.getReadTime());
 	}
 }
@@ -0,0 +1,23 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.sanitize;
+
+import java.util.function.Function;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteUebersicht;
+
+/**
+ * ChecklisteUebersichtSanitizer
+ */
+public class ChecklisteUebersichtSanitizer implements Function<ChecklisteUebersicht, ChecklisteUebersicht> {
+
+	@Override
+	public ChecklisteUebersicht apply(final ChecklisteUebersicht uebersicht) {
+
+		uebersicht.setName(HtmlEncoder.forHtml(uebersicht.getName()));
+		return uebersicht;
+	}
+
+}
@@ -6,8 +6,6 @@ package de.egladil.web.checklistenserver.sanitize;
 
 import java.util.function.Function;
 
-import org.owasp.encoder.Encode;
-
 import de.egladil.web.checklistenserver.domain.ChecklistenItem;
 
 /**
@@ -20,9 +18,9 @@ public class ChecklistenItemSanitizer implements Function<ChecklistenItem, Check
 
 		if (item.getKommentar() != null) {
 
-			item.setKommentar(Encode.forHtml(item.getKommentar()));
+			item.setKommentar(HtmlEncoder.forHtml(item.getKommentar()));
 		}
-		item.setName(Encode.forHtml(item.getName()));
+		item.setName(HtmlEncoder.forHtml(item.getName()));
 		return item;
 	}
 
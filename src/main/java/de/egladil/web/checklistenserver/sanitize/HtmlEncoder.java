@@ -0,0 +1,55 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.sanitize;
+
+import org.owasp.encoder.Encode;
+
+/**
+ * HtmlEncoder ist Encode.forHtml mit einem schnellen Weg für den Normalfall: enthält der String nur Zeichen, die Encode.forHtml
+ * unverändert lässt, wird er selbst zurückgegeben, ohne einen neuen String zu erzeugen.
+ */
+public final class HtmlEncoder {
+
+	private HtmlEncoder() {
+
+	}
+
+	/**
+	 * @param  input
+	 *               String darf null sein.
+	 * @return       String wie Encode.forHtml(input)
+	 */
+	public static String forHtml(final String input) {
+
+		if (input == null) {
+
+			return Encode.forHtml(input);
+		}
+
+		for (int i = 0; i < input.length(); i++) {
+
+			if (!istUnveraendert(input.charAt(i))) {
+
+				return Encode.forHtml(input);
+			}
+		}
+
+		return input;
+	}
+
+	/**
+	 * Absichtlich enger als nötig: druckbares ASCII ohne &amp;, &lt;, &gt;, " und ' sowie alles ab U+00A0 bis vor die Surrogate.
+	 * Steuerzeichen, Zeilenumbrüche und Surrogate gehen den normalen Weg.
+	 */
+	static boolean istUnveraendert(final char c) {
+
+		if (c >= 0x20 && c <= 0x7E) {
+
+			return c != '&' && c != '<' && c != '>' && c != '"' && c != '\'';
+		}
+
+		return c >= 0xA0 && c < Character.MIN_SURROGATE;
+	}
+}
@@ -0,0 +1,173 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import de.egladil.web.checklistenserver.config.DirectoryWatcher;
+import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
+import io.quarkus.runtime.Startup;
+
+/**
+ * AuthproviderJwtVerifier prüft die JWTs des authproviders. Der public key wird einmal beim Start gelesen und geparsed. Ist
+ * auth.public-key.file konfiguriert, wird der Key aus dieser Datei gelesen und nach einer Änderung der Datei neu geladen
+ * (Schlüsseltausch ohne Neustart). Sonst kommt er aus META-INF/authprov_public_key.pem.
+ */
+@ApplicationScoped
+@Startup
+public class AuthproviderJwtVerifier {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AuthproviderJwtVerifier.class);
+
+	private static final String CLASSPATH_PUBLIC_KEY = "/META-INF/authprov_public_key.pem";
+
+	@Inject
+	@ConfigProperty(name = "auth.public-key.file")
+	Optional<String> pathPublicKeyFile;
+
+	private final AtomicReference<JWTVerifier> verifier = new AtomicReference<>();
+
+	private DirectoryWatcher directoryWatcher;
+
+	@PostConstruct
+	void init() {
+
+		if (pathPublicKeyFile.isEmpty()) {
+
+			verifier.set(createVerifier(readClasspathPublicKey()));
+			return;
+		}
+
+		Path path = Paths.get(pathPublicKeyFile.get()).toAbsolutePath();
+		verifier.set(createVerifier(readPublicKeyFile(path)));
+
+		directoryWatcher = new DirectoryWatcher(path.getParent(), changed -> {
+
+			if (changed == null || path.getFileName().equals(changed)) {
+
+				reload(path);
+			}
+		});
+
+		try {
+
+			directoryWatcher.start();
+		} catch (IOException e) {
+
+			LOG.error("Konnte {} nicht beobachten. Ein neuer public key wird erst nach Neustart verwendet: {}", path,
+				e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	void shutdown() throws IOException {
+
+		if (directoryWatcher != null) {
+
+			directoryWatcher.close();
+		}
+	}
+
+	/**
+	 * Prüft Signatur und Gültigkeit des JWT.
+	 *
+	 * @param  jwt
+	 *                                  String
+	 * @return                          DecodedJWT
+	 * @throws JWTVerificationException
+	 */
+	public DecodedJWT verify(final String jwt) throws JWTVerificationException {
+
+		return verifier.get().verify(jwt);
+	}
+
+	private void reload(final Path path) {
+
+		if (!Files.isRegularFile(path)) {
+
+			// beim Austausch kurzzeitig weg. Bis dahin gilt der alte Key.
+			return;
+		}
+
+		try {
+
+			verifier.set(createVerifier(readPublicKeyFile(path)));
+			LOG.info("public key aus {} neu geladen", path);
+		} catch (ChecklistenRuntimeException e) {
+
+			LOG.error("public key aus {} nicht neu geladen, verwende weiter den alten: {}", path, e.getMessage());
+		}
+	}
+
+	private String readClasspathPublicKey() {
+
+		try (InputStream in = getClass().getResourceAsStream(CLASSPATH_PUBLIC_KEY)) {
+
+			return IOUtils.toString(in, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+
+			LOG.error("Konnte jwt-public-key nicht lesen: {}", e.getMessage());
+			throw new ChecklistenRuntimeException("Konnte jwt-public-key nicht lesen: " + e.getMessage());
+		}
+	}
+
+	private String readPublicKeyFile(final Path path) {
+
+		try {
+
+			return Files.readString(path, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+
+			LOG.error("Konnte jwt-public-key {} nicht lesen: {}", path, e.getMessage());
+			throw new ChecklistenRuntimeException("Konnte jwt-public-key nicht lesen: " + e.getMessage());
+		}
+	}
+
+	private JWTVerifier createVerifier(final String pem) {
+
+		String base64 = pem.replace("-----BEGIN PUBLIC KEY-----", "").replace("-----END PUBLIC KEY-----", "")
+			.replaceAll("\\s", "");
+
+		try {
+
+			X509EncodedKeySpec keySpec = new X509EncodedKeySpec(Base64.getDecoder().decode(base64));
+			RSAPublicKey publicKey = (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(keySpec);
+
+			return JWT.require(Algorithm.RSA256(publicKey, null)).build();
+		} catch (GeneralSecurityException | IllegalArgumentException e) {
+
+			LOG.error("jwt-public-key ist kein gültiger RSA public key: {}", e.getMessage());
+			throw new ChecklistenRuntimeException("jwt-public-key ist kein gültiger RSA public key: " + e.getMessage());
+		}
+	}
+}
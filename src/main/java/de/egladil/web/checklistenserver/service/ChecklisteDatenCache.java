@@ -0,0 +1,227 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+
+/**
+ * ChecklisteDatenCache hält die deserialisierten ChecklisteDaten je kuerzel zusammen mit der Version der Checkliste. Ein Eintrag
+ * ist nur für genau diese Version gültig, so dass eine anderswo geänderte Checkliste nie aus dem Cache geliefert wird.<br>
+ * <br>
+ * Begrenzt sind sowohl die Anzahl der Einträge als auch ihr geschätztes Gewicht (Anzahl Zeichen der Namen und Kommentare). Wird
+ * eine Grenze überschritten, werden die am längsten nicht verwendeten Einträge verdrängt.<br>
+ * <br>
+ * Rein- und rausgegeben werden Kopien, weil die Aufrufer die ChecklisteDaten verändern (z.B. beim Sanitizen).
+ */
+@ApplicationScoped
+public class ChecklisteDatenCache {
+
+	/* geschätzter Grundaufwand je Objekt */
+	private static final int GEWICHT_OBJEKT = 32;
+
+	@Inject
+	@ConfigProperty(name = "checkliste.cache.max-size", defaultValue = "1000")
+	int maxSize;
+
+	@Inject
+	@ConfigProperty(name = "checkliste.cache.max-weight", defaultValue = "5000000")
+	long maxGewicht;
+
+	/* accessOrder=true: die Iterationsreihenfolge beginnt mit dem am längsten nicht verwendeten Eintrag. */
+	private final LinkedHashMap<String, Eintrag> eintraege = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long gewicht;
+
+	private final AtomicLong anzahlHits = new AtomicLong();
+
+	private final AtomicLong anzahlMisses = new AtomicLong();
+
+	private final AtomicLong anzahlEvictions = new AtomicLong();
+
+	/**
+	 * @param  kuerzel
+	 *                 String
+	 * @param  version
+	 *                 int die aktuelle Version der Checkliste
+	 * @return         eine Kopie der ChecklisteDaten oder null, wenn nicht oder nur in einer anderen Version vorhanden.
+	 */
+	public ChecklisteDaten get(final String kuerzel, final int version) {
+
+		Eintrag eintrag;
+
+		synchronized (this) {
+
+			eintrag = eintraege.get(kuerzel);
+		}
+
+		if (eintrag == null || eintrag.version != version) {
+
+			anzahlMisses.incrementAndGet();
+			return null;
+		}
+
+		anzahlHits.incrementAndGet();
+		return kopieren(eintrag.daten);
+	}
+
+	/**
+	 * Legt eine Kopie der Daten ab.
+	 *
+	 * @param kuerzel
+	 *                String
+	 * @param version
+	 *                int die Version der Checkliste, aus der die Daten stammen.
+	 * @param daten
+	 *                ChecklisteDaten darf nicht null sein.
+	 */
+	public void put(final String kuerzel, final int version, final ChecklisteDaten daten) {
+
+		Eintrag neu = new Eintrag(version, kopieren(daten), schaetzeGewicht(daten));
+
+		if (neu.gewicht > maxGewicht) {
+
+			invalidate(kuerzel);
+			return;
+		}
+
+		synchronized (this) {
+
+			Eintrag alt = eintraege.put(kuerzel, neu);
+
+			if (alt != null) {
+
+				gewicht -= alt.gewicht;
+			}
+
+			gewicht += neu.gewicht;
+
+			Iterator<Eintrag> iter = eintraege.values().iterator();
+
+			while ((eintraege.size() > maxSize || gewicht > maxGewicht) && iter.hasNext()) {
+
+				gewicht -= iter.next().gewicht;
+				iter.remove();
+				anzahlEvictions.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Entfernt den Eintrag zum kuerzel.
+	 *
+	 * @param kuerzel
+	 *                String
+	 */
+	public synchronized void invalidate(final String kuerzel) {
+
+		Eintrag alt = eintraege.remove(kuerzel);
+
+		if (alt != null) {
+
+			gewicht -= alt.gewicht;
+		}
+	}
+
+	public synchronized int getAnzahlEintraege() {
+
+		return eintraege.size();
+	}
+
+	public synchronized long getGewicht() {
+
+		return gewicht;
+	}
+
+	public long getAnzahlHits() {
+
+		return anzahlHits.get();
+	}
+
+	public long getAnzahlMisses() {
+
+		return anzahlMisses.get();
+	}
+
+	/**
+	 * @return long Anzahl der Einträge, die wegen Erreichen von max-size oder max-weight verdrängt wurden.
+	 */
+	public long getAnzahlEvictions() {
+
+		return anzahlEvictions.get();
+	}
+
+	static long schaetzeGewicht(final ChecklisteDaten daten) {
+
+		long result = GEWICHT_OBJEKT + laenge(daten.getName());
+
+		for (ChecklistenItem item : daten.getItems()) {
+
+			result += GEWICHT_OBJEKT + laenge(item.getName()) + laenge(item.getKommentar());
+		}
+
+		return result;
+	}
+
+	private static int laenge(final String string) {
+
+		return string == null ? 0 : string.length();
+	}
+
+	private static ChecklisteDaten kopieren(final ChecklisteDaten daten) {
+
+		ChecklisteDaten result = new ChecklisteDaten();
+		result.setKuerzel(daten.getKuerzel());
+		result.setName(daten.getName());
+		result.setGruppe(daten.getGruppe());
+		result.setTyp(daten.getTyp());
+		result.setVersion(daten.getVersion());
+		result.setAnzahlErledigt(daten.getAnzahlErledigt());
+		result.setSanitized(daten.isSanitized());
+
+		List<ChecklistenItem> items = new ArrayList<>(daten.getItems().size());
+
+		for (ChecklistenItem item : daten.getItems()) {
+
+			ChecklistenItem kopie = new ChecklistenItem();
+			kopie.setName(item.getName());
+			kopie.setMarkiert(item.isMarkiert());
+			kopie.setOptional(item.isOptional());
+			kopie.setErledigt(item.isErledigt());
+			kopie.setKommentar(item.getKommentar());
+			items.add(kopie);
+		}
+
+		result.setItems(items);
+		return result;
+	}
+
+	private static class Eintrag {
+
+		private final int version;
+
+		private final ChecklisteDaten daten;
+
+		private final long gewicht;
+
+		Eintrag(final int version, final ChecklisteDaten daten, final long gewicht) {
+
+			this.version = version;
+			this.daten = daten;
+			this.gewicht = gewicht;
+		}
+	}
+}
@@ -6,16 +6,20 @@
 package de.egladil.web.checklistenserver.service;
 
 import java.io.IOException;
+import java.io.Reader;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import de.egladil.web.checklistenserver.domain.Checkliste;
 import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
 import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
+import de.egladil.web.checklistenserver.metrics.Messpunkte;
 
 /**
  * ChecklisteDatenMapper
@@ -24,23 +28,61 @@ public class ChecklisteDatenMapper {
 
 	private static final Logger LOG = LoggerFactory.getLogger(ChecklisteDatenMapper.class);
 
+	/* ObjectReader und ObjectWriter sind unveränderlich und threadsafe. Sie teilen sich die Caches des ObjectMappers. */
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private static final ObjectReader READER = OBJECT_MAPPER.readerFor(ChecklisteDaten.class);
+
+	private static final ObjectWriter WRITER = OBJECT_MAPPER.writerFor(ChecklisteDaten.class);
+
 	/**
 	 * @param  checkliste
 	 * @return            ChecklisteDaten oder null
 	 */
 	public static ChecklisteDaten deserialize(final Checkliste checkliste, final String... errmContext) {
 
-		ObjectMapper objectMapper = new ObjectMapper();
+		long start = System.nanoTime();
 
 		try {
 
-			ChecklisteDaten daten = objectMapper.readValue(checkliste.getDaten().getBytes(), ChecklisteDaten.class);
+			// direkt aus den chars des Strings parsen: getBytes() würde das ganze Dokument noch einmal als UTF-8 kopieren.
+			ChecklisteDaten daten = READER.readValue(checkliste.getDaten());
+			daten.setSanitized(checkliste.getDatenFormat() == Checkliste.DATEN_FORMAT_SANITIZED);
 			return daten;
 		} catch (IOException e) {
 
-			String context = errmContext != null ? errmContext[0] : "";
+			String context = errmContext != null && errmContext.length > 0 ? errmContext[0] : "";
 			LOG.error(context + " Checkliste mit kuerzel '{}' hat korrupte Daten", checkliste.getKuerzel());
 			return null;
+		} finally {
+
+			Messpunkte.JSON_DESERIALISIEREN.erfassenSeit(start);
+		}
+	}
+
+	/**
+	 * Parsed die Daten direkt aus dem Reader, ohne sie vorher als String zu materialisieren.
+	 *
+	 * @param  kuerzel
+	 *                 String kuerzel der Checkliste, nur für das Log.
+	 * @param  reader
+	 *                 Reader auf den Inhalt der Spalte DATEN
+	 * @return         ChecklisteDaten oder null
+	 */
+	public static ChecklisteDaten deserialize(final String kuerzel, final Reader reader) {
+
+		long start = System.nanoTime();
+
+		try {
+
+			return READER.readValue(reader);
+		} catch (IOException e) {
+
+			LOG.error("Checkliste mit kuerzel '{}' hat korrupte Daten", kuerzel);
+			return null;
+		} finally {
+
+			Messpunkte.JSON_DESERIALISIEREN.erfassenSeit(start);
 		}
 	}
 
@@ -53,16 +95,19 @@ public class ChecklisteDatenMapper {
 	 */
 	public static String serialize(final ChecklisteDaten daten, final String errmContext) {
 
-		ObjectMapper objectMapper = new ObjectMapper();
+		long start = System.nanoTime();
 
 		try {
 
-			return objectMapper.writeValueAsString(daten);
+			return WRITER.writeValueAsString(daten);
 		} catch (JsonProcessingException e) {
 
 			String msg = errmContext + " (Fehler beim JSONisieren)";
 			LOG.error("{}: {}", e.getMessage(), e);
 			throw new ChecklistenRuntimeException(msg);
+		} finally {
+
+			Messpunkte.JSON_SERIALISIEREN.erfassenSeit(start);
 		}
 	}
 }
@@ -0,0 +1,201 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.BadRequestException;
+
+import org.apache.commons.lang3.StringUtils;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+import de.egladil.web.checklistenserver.error.ConcurrentUpdateException;
+import de.egladil.web.checklistenserver.payload.ChecklistePatchErgebnis;
+import de.egladil.web.checklistenserver.payload.ItemOperation;
+import de.egladil.web.checklistenserver.sanitize.HtmlEncoder;
+
+/**
+ * ChecklistePatcher wendet ItemOperationen auf sanitierte ChecklisteDaten an. Angefasst werden nur die betroffenen Items: sie
+ * werden über den Namen gefunden, neue Namen und Kommentare werden einzeln kodiert.
+ */
+public final class ChecklistePatcher {
+
+	static final int MAX_ANZAHL_ITEMS = 999;
+
+	private ChecklistePatcher() {
+
+	}
+
+	/**
+	 * Wendet die Operationen der Reihe nach an. Schlägt eine fehl, sind die Daten teilweise geändert und dürfen nicht gespeichert
+	 * werden.
+	 *
+	 * @param  daten
+	 *                                   ChecklisteDaten sanitiert, werden verändert.
+	 * @param  operationen
+	 *                                   List
+	 * @return                           ChecklistePatchErgebnis ohne kuerzel und version
+	 * @throws ConcurrentUpdateException
+	 *                                   wenn eine Operation nicht zum Stand der Checkliste passt.
+	 * @throws BadRequestException
+	 *                                   wenn eine Operation unvollständig oder ein neuer Name zu lang ist.
+	 */
+	public static ChecklistePatchErgebnis anwenden(final ChecklisteDaten daten, final List<ItemOperation> operationen) throws ConcurrentUpdateException {
+
+		Map<String, ChecklistenItem> itemsNachName = new HashMap<>();
+		daten.getItems().forEach(item -> itemsNachName.put(item.getName(), item));
+
+		// Identität statt equals, weil equals am Namen hängt und sich der beim Umbenennen ändert.
+		Set<ChecklistenItem> geaendert = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<ChecklistenItem> geaendertInReihenfolge = new ArrayList<>();
+		Set<ChecklistenItem> zuEntfernen = Collections.newSetFromMap(new IdentityHashMap<>());
+		Set<String> entfernteNamen = new LinkedHashSet<>();
+
+		for (ItemOperation operation : operationen) {
+
+			ChecklistenItem item;
+
+			switch (operation.getOperation()) {
+
+			case ERLEDIGT:
+				item = finden(itemsNachName, operation.getName());
+				item.setErledigt(operation.isWert());
+				break;
+
+			case MARKIERT:
+				item = finden(itemsNachName, operation.getName());
+				item.setMarkiert(operation.isWert());
+				break;
+
+			case KOMMENTIEREN:
+				item = finden(itemsNachName, operation.getName());
+				item.setKommentar(kodiereKommentar(operation.getKommentar()));
+				break;
+
+			case HINZUFUEGEN:
+				item = ChecklistenItem.fromName(kodiereName(operation.getName()));
+				pruefeFrei(itemsNachName, item.getName());
+
+				if (daten.getItems().size() - zuEntfernen.size() >= MAX_ANZAHL_ITEMS) {
+
+					throw new ConcurrentUpdateException("Die Checkliste hat schon " + MAX_ANZAHL_ITEMS + " Items.");
+				}
+
+				item.setOptional(operation.isOptional());
+				item.setKommentar(kodiereKommentar(operation.getKommentar()));
+				itemsNachName.put(item.getName(), item);
+				daten.getItems().add(item);
+				entfernteNamen.remove(item.getName());
+				break;
+
+			case UMBENENNEN:
+				item = finden(itemsNachName, operation.getName());
+
+				if (StringUtils.isBlank(operation.getNeuerName())) {
+
+					throw new BadRequestException("Neuer Name für '" + operation.getName() + "' fehlt.");
+				}
+
+				String neuerName = kodiereName(operation.getNeuerName());
+
+				if (!neuerName.equals(item.getName())) {
+
+					pruefeFrei(itemsNachName, neuerName);
+					itemsNachName.remove(item.getName());
+					entfernteNamen.add(item.getName());
+					item.setName(neuerName);
+					itemsNachName.put(neuerName, item);
+					entfernteNamen.remove(neuerName);
+				}
+				break;
+
+			case ENTFERNEN:
+				item = finden(itemsNachName, operation.getName());
+				itemsNachName.remove(item.getName());
+				zuEntfernen.add(item);
+				entfernteNamen.add(item.getName());
+				continue;
+
+			default:
+				throw new BadRequestException("Unbekannte Operation " + operation.getOperation());
+			}
+
+			if (geaendert.add(item)) {
+
+				geaendertInReihenfolge.add(item);
+			}
+		}
+
+		if (!zuEntfernen.isEmpty()) {
+
+			daten.getItems().removeIf(zuEntfernen::contains);
+		}
+
+		ChecklistePatchErgebnis result = new ChecklistePatchErgebnis();
+		geaendertInReihenfolge.stream().filter(item -> !zuEntfernen.contains(item)).forEach(result.getGeaendert()::add);
+		result.getEntfernt().addAll(entfernteNamen);
+		result.setAnzahlItems(daten.getItems().size());
+		result.setAnzahlErledigt((int) daten.getItems().stream().filter(ChecklistenItem::isErledigt).count());
+
+		return result;
+	}
+
+	/**
+	 * @param  name
+	 *                             String neuer Name aus einer ItemOperation, nicht null
+	 * @return                     String so, wie er gespeichert wird
+	 * @throws BadRequestException
+	 *                             wenn der Name vor dem Kodieren länger als ChecklistenItem.MAX_LAENGE_NAME ist.
+	 */
+	static String kodiereName(final String name) throws BadRequestException {
+
+		String eingabe = name.trim();
+
+		if (eingabe.length() > ChecklistenItem.MAX_LAENGE_NAME) {
+
+			throw new BadRequestException("Der Name darf höchstens " + ChecklistenItem.MAX_LAENGE_NAME + " Zeichen lang sein.");
+		}
+
+		return HtmlEncoder.forHtml(eingabe);
+	}
+
+	/**
+	 * @param  kommentar
+	 *                   String Kommentar aus einer ItemOperation
+	 * @return           String so, wie er gespeichert wird, oder null
+	 */
+	static String kodiereKommentar(final String kommentar) {
+
+		return kommentar == null ? null : HtmlEncoder.forHtml(kommentar);
+	}
+
+	private static ChecklistenItem finden(final Map<String, ChecklistenItem> itemsNachName, final String name) {
+
+		ChecklistenItem item = itemsNachName.get(name);
+
+		if (item == null) {
+
+			throw new ConcurrentUpdateException("Item '" + name + "' gibt es in der Checkliste nicht.");
+		}
+
+		return item;
+	}
+
+	private static void pruefeFrei(final Map<String, ChecklistenItem> itemsNachName, final String name) {
+
+		if (itemsNachName.containsKey(name)) {
+
+			throw new ConcurrentUpdateException("Item '" + name + "' gibt es in der Checkliste schon.");
+		}
+	}
+}
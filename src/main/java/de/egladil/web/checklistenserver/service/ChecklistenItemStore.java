@@ -0,0 +1,71 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.util.List;
+import java.util.Map;
+
+import de.egladil.web.checklistenserver.domain.Checkliste;
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+import de.egladil.web.checklistenserver.payload.ItemOperation;
+
+/**
+ * ChecklistenItemStore ist der Ablageort der Items einer Checkliste. Standard ist DatenChecklistenItemStore: die Items stehen
+ * im JSON in CHECKLISTEN.DATEN. Mit der Build-Property checkliste.items=tabelle stehen sie durch TabelleChecklistenItemStore als
+ * Zeilen in CHECKLISTEN_ITEMS, so dass ein PATCH nur die betroffenen Zeilen ändert.
+ */
+public interface ChecklistenItemStore {
+
+	/**
+	 * @param  daten
+	 *                     ChecklisteDaten
+	 * @param  errmContext
+	 *                     String für die Fehlermeldung
+	 * @return             String der Inhalt für CHECKLISTEN.DATEN
+	 */
+	String serialisieren(ChecklisteDaten daten, String errmContext);
+
+	/**
+	 * Wird nach dem Speichern der Checkliste mit ihren Items aufgerufen.
+	 *
+	 * @param checkliste
+	 *                   Checkliste gespeichert, hat also eine ID.
+	 * @param items
+	 *                   List
+	 */
+	void itemsGespeichert(Checkliste checkliste, List<ChecklistenItem> items);
+
+	/**
+	 * Ergänzt die aus DATEN gelesenen ChecklisteDaten um die Items.
+	 *
+	 * @param checkliste
+	 *                   Checkliste
+	 * @param daten
+	 *                   ChecklisteDaten
+	 */
+	void itemsLaden(Checkliste checkliste, ChecklisteDaten daten);
+
+	/**
+	 * Ergänzt mehrere aus DATEN gelesene ChecklisteDaten auf einmal um die Items.
+	 *
+	 * @param datenNachKuerzel
+	 *                         Map kuerzel -> ChecklisteDaten
+	 */
+	void itemsLaden(Map<String, ChecklisteDaten> datenNachKuerzel);
+
+	/**
+	 * Speichert das Ergebnis eines Patches. Die Operationen sind schon mit ChecklistePatcher auf daten angewendet und damit
+	 * geprüft. Setzt DATEN und die Zähler der Checkliste, speichert sie aber nicht.
+	 *
+	 * @param checkliste
+	 *                    Checkliste
+	 * @param daten
+	 *                    ChecklisteDaten der neue Stand
+	 * @param operationen
+	 *                    List
+	 */
+	void patchen(Checkliste checkliste, ChecklisteDaten daten, List<ItemOperation> operationen);
+}
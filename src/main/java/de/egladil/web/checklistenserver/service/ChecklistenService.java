@@ -6,13 +6,18 @@
 package de.egladil.web.checklistenserver.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.persistence.PersistenceException;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
 import javax.transaction.Transactional;
 import javax.ws.rs.NotFoundException;
 
@@ -21,14 +26,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.egladil.web.checklistenserver.dao.impl.ChecklisteDao;
-import de.egladil.web.checklistenserver.dao.impl.UserDao;
 import de.egladil.web.checklistenserver.domain.Checkliste;
 import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.ChecklisteUebersicht;
 import de.egladil.web.checklistenserver.domain.Checklistentyp;
-import de.egladil.web.checklistenserver.domain.Checklistenuser;
+import de.egladil.web.checklistenserver.domain.UserSession;
 import de.egladil.web.checklistenserver.error.AuthException;
 import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
+import de.egladil.web.checklistenserver.error.ConcurrentUpdateException;
 import de.egladil.web.checklistenserver.error.LogmessagePrefixes;
+import de.egladil.web.checklistenserver.payload.ChecklistePatch;
+import de.egladil.web.checklistenserver.payload.ChecklistePatchErgebnis;
+import de.egladil.web.checklistenserver.payload.ChecklisteSpeicherergebnis;
+import de.egladil.web.checklistenserver.payload.ChecklisteSpeicherergebnis.Status;
 import de.egladil.web.checklistenserver.sanitize.ChecklisteDatenSanitizer;
 import de.egladil.web.commons_validation.payload.MessagePayload;
 import de.egladil.web.commons_validation.payload.ResponsePayload;
@@ -45,65 +55,173 @@ public class ChecklistenService {
 	ChecklisteDao checklisteDao;
 
 	@Inject
-	UserDao userDao;
+	UserGruppenCache userGruppenCache;
 
 	@Inject
 	ChecklistenTemplateProvider checklistenTemplateProvider;
 
+	@Inject
+	ChecklisteDatenCache checklisteDatenCache;
+
+	@Inject
+	ChecklistenItemStore checklistenItemStore;
+
+	@Inject
+	TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
 	/**
-	 * @param  userUUID
-	 *                  String die UUID des Users.
+	 * Läd die ChecklisteDaten zu den gegebenen Übersichten, soweit möglich aus dem Cache.
+	 *
+	 * @param  uebersichten
+	 *                      List die Übersichten einer Gruppe, z.B. von loadUebersicht.
+	 * @return              List
+	 */
+	public List<ChecklisteDaten> loadChecklisten(final List<ChecklisteUebersicht> uebersichten) {
+
+		if (uebersichten.isEmpty()) {
+
+			return new ArrayList<>();
+		}
+
+		// kuerzel -> ChecklisteDaten, null solange noch nicht gelesen
+		final Map<String, ChecklisteDaten> checklisten = new LinkedHashMap<>();
+		final List<String> fehlend = new ArrayList<>();
+
+		for (ChecklisteUebersicht uebersicht : uebersichten) {
+
+			ChecklisteDaten daten = checklisteDatenCache.get(uebersicht.getKuerzel(), uebersicht.getVersion());
+			checklisten.put(uebersicht.getKuerzel(), daten);
+
+			if (daten == null) {
+
+				fehlend.add(uebersicht.getKuerzel());
+			}
+		}
+
+		final Map<String, ChecklisteDaten> gelesen = new LinkedHashMap<>();
+		final Map<String, Integer> versionen = new LinkedHashMap<>();
+
+		// DATEN nur für die Checklisten lesen, die nicht im Cache sind
+		checklisteDao.streamDaten(uebersichten.get(0).getGruppe(), fehlend, (kuerzel, version, datenFormat, reader) -> {
+
+			ChecklisteDaten daten = ChecklisteDatenMapper.deserialize(kuerzel, reader);
+
+			if (daten != null) {
+
+				daten.setSanitized(datenFormat == Checkliste.DATEN_FORMAT_SANITIZED);
+				gelesen.put(kuerzel, daten);
+				versionen.put(kuerzel, version);
+			}
+		});
+
+		if (!gelesen.isEmpty()) {
+
+			// bei checkliste.items=tabelle: eine Abfrage für die Items aller gelesenen Checklisten
+			checklistenItemStore.itemsLaden(gelesen);
+
+			gelesen.forEach((kuerzel, daten) -> {
+
+				checklisteDatenCache.put(kuerzel, versionen.get(kuerzel), daten);
+				checklisten.put(kuerzel, daten);
+			});
+		}
+
+		return checklisten.values().stream().filter(daten -> daten != null).collect(Collectors.toList());
+	}
+
+	/**
+	 * Läd die Übersicht aller Checklisten der Gruppe des Users. Die Items werden dabei nicht gelesen.
+	 *
+	 * @param  userSession
+	 *                  UserSession
 	 * @return          List
 	 */
-	public List<ChecklisteDaten> loadChecklisten(final String userUUID) {
+	public List<ChecklisteUebersicht> loadUebersicht(final UserSession userSession) {
 
-		Optional<Checklistenuser> optUser = userDao.findByUniqueIdentifier(userUUID);
+		final String gruppe = userGruppenCache.getGruppe(userSession);
 
-		if (!optUser.isPresent()) {
+		if (gruppe == null) {
 
-			LOG.warn("Kein user mit UUID={} vorhanden. Gebe leere Liste zurück.", userUUID);
+			LOG.warn("Kein user mit UUID={} vorhanden. Gebe leere Liste zurück.", userSession.getUuid());
 			return new ArrayList<>();
 		}
 
-		Checklistenuser user = optUser.get();
+		return checklisteDao.loadUebersicht(gruppe);
+	}
 
-		final List<Checkliste> checklisten = checklisteDao.load(user.getGruppe());
+	public ChecklisteDaten getCheckliste(final String kuerzel, final UserSession userSession) {
 
-		List<ChecklisteDaten> result = checklisten.stream().map(chl -> ChecklisteDatenMapper.deserialize(chl))
-			.filter(daten -> daten != null).collect(Collectors.toList());
-		return result;
+		return getCheckliste(getUebersicht(kuerzel, userSession));
 	}
 
-	public ChecklisteDaten getCheckliste(final String kuerzel, final String userUUID) {
+	/**
+	 * Sucht die Übersicht der Checkliste und prüft, ob der User sie sehen darf. Die Spalte DATEN wird dabei nicht gelesen.
+	 *
+	 * @param  kuerzel
+	 *                  String
+	 * @param  userSession
+	 *                  UserSession
+	 * @return          ChecklisteUebersicht
+	 */
+	public ChecklisteUebersicht getUebersicht(final String kuerzel, final UserSession userSession) {
 
 		if (kuerzel == null) {
 
 			throw new ChecklistenRuntimeException("Lesen gescheitert: kein kuerzel");
 		}
 
-		Optional<Checklistenuser> optUser = userDao.findByUniqueIdentifier(userUUID);
+		final String gruppe = userGruppenCache.getGruppe(userSession);
 
-		if (!optUser.isPresent()) {
+		if (gruppe == null) {
 
-			LOG.warn("Kein user mit UUID={} vorhanden. AuthException", userUUID);
+			LOG.warn("Kein user mit UUID={} vorhanden. AuthException", userSession.getUuid());
 			throw new AuthException("Nö, keine Berechtigung.");
 		}
 
-		Optional<Checkliste> opt = checklisteDao.findByUniqueIdentifier(kuerzel);
+		// erst ohne DATEN: für die Berechtigung und den Cache reichen gruppe und version
+		Optional<ChecklisteUebersicht> optUebersicht = checklisteDao.findUebersicht(kuerzel);
 
-		if (!opt.isPresent()) {
+		if (!optUebersicht.isPresent()) {
 
 			LOG.error("Checkliste mit kuerzel '{}' nicht gefunden", kuerzel);
 			throw new NotFoundException();
 		}
 
-		Checklistenuser user = optUser.get();
+		ChecklisteUebersicht uebersicht = optUebersicht.get();
 
-		Checkliste checkliste = opt.get();
+		authorizeUserForCheckliste(userSession, gruppe, uebersicht.getKuerzel(), uebersicht.getGruppe(), "sehen");
+
+		return uebersicht;
+	}
 
-		authorizeUserForCheckliste(user, checkliste, "sehen");
+	/**
+	 * Läd die ChecklisteDaten zur Übersicht, soweit möglich aus dem Cache.
+	 *
+	 * @param  uebersicht
+	 *                    ChecklisteUebersicht von getUebersicht
+	 * @return            ChecklisteDaten
+	 */
+	public ChecklisteDaten getCheckliste(final ChecklisteUebersicht uebersicht) {
+
+		final String kuerzel = uebersicht.getKuerzel();
+
+		ChecklisteDaten daten = checklisteDatenCache.get(kuerzel, uebersicht.getVersion());
+
+		if (daten != null) {
 
-		ChecklisteDaten daten = ChecklisteDatenMapper.deserialize(opt.get());
+			return daten;
+		}
+
+		Optional<Checkliste> opt = checklisteDao.findByUniqueIdentifier(kuerzel);
+
+		if (!opt.isPresent()) {
+
+			// zwischenzeitlich gelöscht
+			LOG.error("Checkliste mit kuerzel '{}' nicht gefunden", kuerzel);
+			throw new NotFoundException();
+		}
+
+		daten = ChecklisteDatenMapper.deserialize(opt.get());
 
 		if (daten == null) {
 
@@ -111,6 +229,10 @@ public class ChecklistenService {
 			throw new ChecklistenRuntimeException("");
 		}
 
+		checklistenItemStore.itemsLaden(opt.get(), daten);
+
+		checklisteDatenCache.put(kuerzel, opt.get().getVersion(), daten);
+
 		return daten;
 	}
 
@@ -121,33 +243,36 @@ public class ChecklistenService {
 	 *                  Checklistentyp darf nicht null sein.
 	 * @param  name
 	 *                  String name darf nicht blank sein
-	 * @param  userUUID
-	 *                  String darf nicht blank sein.
+	 * @param  userSession
+	 *                  UserSession
 	 * @return
 	 */
-	public ChecklisteDaten createCheckliste(final Checklistentyp typ, final String name, final String userUUID) {
+	@Transactional
+	public ChecklisteDaten createCheckliste(final Checklistentyp typ, final String name, final UserSession userSession) {
 
-		Optional<Checklistenuser> optUser = userDao.findByUniqueIdentifier(userUUID);
+		final String gruppe = userGruppenCache.getGruppe(userSession);
 
-		if (!optUser.isPresent()) {
+		if (gruppe == null) {
 
-			LOG.warn("Kein user mit UUID={} vorhanden. AuthException", userUUID);
+			LOG.warn("Kein user mit UUID={} vorhanden. AuthException", userSession.getUuid());
 			throw new AuthException("Nö, keine Berechtigung.");
 		}
 
 		try {
 
-			Checklistenuser user = optUser.get();
-
-			ChecklisteDaten daten = checklistenTemplateProvider.getChecklisteMitTypFuerGruppe(typ, user.getGruppe());
+			ChecklisteDaten daten = checklistenTemplateProvider.getChecklisteMitTypFuerGruppe(typ, gruppe);
 			daten.setName(name);
-			daten.setGruppe(user.getGruppe());
+			daten.setGruppe(gruppe);
+			daten = new ChecklisteDatenSanitizer().apply(daten);
 
 			Checkliste checkliste = Checkliste.create(typ, name, daten.getKuerzel());
-			checkliste.setDaten(ChecklisteDatenMapper.serialize(daten, "Anlegen gescheitert"));
-			checkliste.setGruppe(user.getGruppe());
+			checkliste.setDaten(checklistenItemStore.serialisieren(daten, "Anlegen gescheitert"));
+			checkliste.setDatenFormat(Checkliste.DATEN_FORMAT_SANITIZED);
+			checkliste.zaehleItems(daten.getItems());
+			checkliste.setGruppe(gruppe);
 
 			Checkliste persisted = checklisteDao.save(checkliste);
+			checklistenItemStore.itemsGespeichert(persisted, daten.getItems());
 
 			daten.setVersion(persisted.getVersion());
 
@@ -167,7 +292,8 @@ public class ChecklistenService {
 	 * @param  daten
 	 * @return       ChecklisteDaten
 	 */
-	public ResponsePayload changeAndSanitizeCheckliste(ChecklisteDaten daten, final String kuerzel, final String userUUID) throws AuthException {
+	@Transactional
+	public ResponsePayload changeAndSanitizeCheckliste(ChecklisteDaten daten, final String kuerzel, final UserSession userSession) throws AuthException {
 
 		if (daten == null) {
 
@@ -179,11 +305,11 @@ public class ChecklistenService {
 			throw new ChecklistenRuntimeException("Ändern gescheitert: kein kuerzel");
 		}
 
-		Optional<Checklistenuser> optUser = userDao.findByUniqueIdentifier(userUUID);
+		final String gruppe = userGruppenCache.getGruppe(userSession);
 
-		if (!optUser.isPresent()) {
+		if (gruppe == null) {
 
-			LOG.warn("Kein user mit UUID={} vorhanden. AuthException", userUUID);
+			LOG.warn("Kein user mit UUID={} vorhanden. AuthException", userSession.getUuid());
 			throw new AuthException("Nö, keine Berechtigung.");
 		}
 
@@ -196,8 +322,7 @@ public class ChecklistenService {
 		}
 
 		Checkliste checkliste = opt.get();
-		Checklistenuser user = optUser.get();
-		authorizeUserForCheckliste(user, checkliste, "ändern");
+		authorizeUserForCheckliste(userSession, gruppe, checkliste, "ändern");
 
 		try {
 
@@ -205,14 +330,8 @@ public class ChecklistenService {
 
 				return handleConcurrentUpdate(checkliste);
 			}
-			// persist erhöht Version um 1, das muss auch in die Daten.
-			daten.setVersion(checkliste.getVersion() + 1);
-			checkliste.setName(daten.getName());
-
-			daten = new ChecklisteDatenSanitizer().apply(daten);
 
-			checkliste.setDaten(ChecklisteDatenMapper.serialize(daten, "Ändern gescheitert"));
-			checklisteDao.save(checkliste);
+			daten = aendern(checkliste, daten);
 			return new ResponsePayload(MessagePayload.info("erfolgreich geändert"), daten);
 		} catch (PersistenceException e) {
 
@@ -223,16 +342,210 @@ public class ChecklistenService {
 
 	}
 
+	/**
+	 * Ändert mehrere Checklisten in einer Transaktion. Die Checklisten werden mit einer Abfrage gelesen, die Updates beim Commit
+	 * gemeinsam geschrieben (JDBC-Batching, quarkus.hibernate-orm.jdbc.statement-batch-size).<br>
+	 * <br>
+	 * Die Versionsprüfung erfolgt je Checkliste: eine veraltete Checkliste wird übersprungen und kommt mit dem aktuellen Stand
+	 * zurück, die übrigen werden trotzdem gespeichert. Gehört eine der Checklisten nicht zur Gruppe des Users, wird nichts
+	 * gespeichert.
+	 *
+	 * @param  datenliste
+	 *                     List die kuerzel müssen verschieden sein.
+	 * @param  userSession
+	 *                     UserSession
+	 * @return             List ein Ergebnis je Checkliste in der Reihenfolge von datenliste
+	 */
+	@Transactional
+	public List<ChecklisteSpeicherergebnis> changeChecklisten(final List<ChecklisteDaten> datenliste, final UserSession userSession) throws AuthException {
+
+		final String gruppe = userGruppenCache.getGruppe(userSession);
+
+		if (gruppe == null) {
+
+			LOG.warn("Kein user mit UUID={} vorhanden. AuthException", userSession.getUuid());
+			throw new AuthException("Nö, keine Berechtigung.");
+		}
+
+		List<String> kuerzel = datenliste.stream().map(ChecklisteDaten::getKuerzel).collect(Collectors.toList());
+
+		Map<String, Checkliste> checklisten = new HashMap<>();
+
+		for (Checkliste checkliste : checklisteDao.findByKuerzel(kuerzel)) {
+
+			// erst alle prüfen, dann ändern
+			authorizeUserForCheckliste(userSession, gruppe, checkliste, "ändern");
+			checklisten.put(checkliste.getKuerzel(), checkliste);
+		}
+
+		List<ChecklisteSpeicherergebnis> result = new ArrayList<>(datenliste.size());
+
+		try {
+
+			for (ChecklisteDaten daten : datenliste) {
+
+				Checkliste checkliste = checklisten.get(daten.getKuerzel());
+
+				if (checkliste == null) {
+
+					result.add(ChecklisteSpeicherergebnis.create(daten.getKuerzel(), Status.NICHT_GEFUNDEN, null));
+				} else if (daten.getVersion() < checkliste.getVersion()) {
+
+					result.add(ChecklisteSpeicherergebnis.create(daten.getKuerzel(), Status.KONFLIKT, aktuelleDaten(checkliste)));
+				} else {
+
+					result.add(ChecklisteSpeicherergebnis.create(daten.getKuerzel(), Status.GEAENDERT, aendern(checkliste, daten)));
+				}
+			}
+		} catch (PersistenceException e) {
+
+			String msg = "Ändern gescheitert (Fehler beim Speichern)";
+			LOG.error("{}: {}", e.getMessage(), e);
+			throw new ChecklistenRuntimeException(msg);
+		}
+
+		return result;
+	}
+
+	private ChecklisteDaten aendern(final Checkliste checkliste, final ChecklisteDaten daten) {
+
+		// persist erhöht Version um 1, das muss auch in die Daten.
+		daten.setVersion(checkliste.getVersion() + 1);
+		checkliste.setName(daten.getName());
+
+		ChecklisteDaten sanitized = new ChecklisteDatenSanitizer().apply(daten);
+
+		checkliste.setDaten(checklistenItemStore.serialisieren(sanitized, "Ändern gescheitert"));
+		checkliste.setDatenFormat(Checkliste.DATEN_FORMAT_SANITIZED);
+		checkliste.zaehleItems(sanitized.getItems());
+		checklisteDao.save(checkliste);
+		checklistenItemStore.itemsGespeichert(checkliste, sanitized.getItems());
+		checklisteDatenCache.invalidate(checkliste.getKuerzel());
+		return sanitized;
+	}
+
+	/**
+	 * Wendet die Item-Operationen des Patches an. Passt die Version des Patches nicht mehr, kommt wie beim Ändern die aktuelle
+	 * Checkliste mit einer Warnung zurück.
+	 *
+	 * @param  kuerzel
+	 *                     String
+	 * @param  patch
+	 *                     ChecklistePatch
+	 * @param  userSession
+	 *                     UserSession
+	 * @return             ResponsePayload mit ChecklistePatchErgebnis
+	 */
+	@Transactional
+	public ResponsePayload patchCheckliste(final String kuerzel, final ChecklistePatch patch, final UserSession userSession) throws AuthException, ConcurrentUpdateException {
+
+		final String gruppe = userGruppenCache.getGruppe(userSession);
+
+		if (gruppe == null) {
+
+			LOG.warn("Kein user mit UUID={} vorhanden. AuthException", userSession.getUuid());
+			throw new AuthException("Nö, keine Berechtigung.");
+		}
+
+		Optional<Checkliste> opt = checklisteDao.findByUniqueIdentifier(kuerzel);
+
+		if (!opt.isPresent()) {
+
+			LOG.error("Checkliste mit kuerzel '{}' nicht gefunden", kuerzel);
+			throw new NotFoundException();
+		}
+
+		Checkliste checkliste = opt.get();
+		authorizeUserForCheckliste(userSession, gruppe, checkliste, "ändern");
+
+		if (patch.getVersion() != checkliste.getVersion()) {
+
+			return handleConcurrentUpdate(checkliste);
+		}
+
+		ChecklisteDaten daten = checklisteDatenCache.get(kuerzel, checkliste.getVersion());
+
+		if (daten == null) {
+
+			daten = ChecklisteDatenMapper.deserialize(checkliste, "Patchen gescheitert");
+
+			if (daten == null) {
+
+				throw new ChecklistenRuntimeException("");
+			}
+
+			checklistenItemStore.itemsLaden(checkliste, daten);
+		}
+
+		// die Namen im Patch sind die, die der Client bekommen hat, also sanitiert.
+		daten = new ChecklisteDatenSanitizer().apply(daten);
+
+		ChecklistePatchErgebnis ergebnis = ChecklistePatcher.anwenden(daten, patch.getOperationen());
+
+		try {
+
+			daten.setVersion(checkliste.getVersion() + 1);
+
+			// schreibt DATEN und die Zähler, bei checkliste.items=tabelle außerdem die betroffenen Zeilen
+			checklistenItemStore.patchen(checkliste, daten, patch.getOperationen());
+			checkliste.setDatenFormat(Checkliste.DATEN_FORMAT_SANITIZED);
+			checklisteDao.save(checkliste);
+			nachCommitCachen(kuerzel, daten);
+
+			ergebnis.setKuerzel(kuerzel);
+			ergebnis.setVersion(daten.getVersion());
+			return new ResponsePayload(MessagePayload.info("erfolgreich geändert"), ergebnis);
+		} catch (PersistenceException e) {
+
+			String msg = "Patchen gescheitert (Fehler beim Speichern)";
+			LOG.error("{}: {}", e.getMessage(), e);
+			throw new ChecklistenRuntimeException(msg);
+		}
+	}
+
+	/**
+	 * Legt die Daten erst in den Cache, wenn die Transaktion erfolgreich committed wurde. Verliert der Commit gegen ein
+	 * konkurrierendes Update, stünden sonst Daten unter einer Version im Cache, die in der DB andere Daten hat.
+	 */
+	private void nachCommitCachen(final String kuerzel, final ChecklisteDaten daten) {
+
+		checklisteDatenCache.invalidate(kuerzel);
+
+		transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+
+			@Override
+			public void beforeCompletion() {
+
+				// nix zu tun
+			}
+
+			@Override
+			public void afterCompletion(final int status) {
+
+				if (status == javax.transaction.Status.STATUS_COMMITTED) {
+
+					checklisteDatenCache.put(kuerzel, daten.getVersion(), daten);
+				}
+			}
+		});
+	}
+
 	private ResponsePayload handleConcurrentUpdate(final Checkliste checkliste) {
 
 		LOG.debug("konkurrierendes Update: erzeuge neues Payload mit geänderten Daten");
 
+		return new ResponsePayload(MessagePayload.warn("Jemand anderes hat die Daten geändert. Anbei die neue Version"),
+			aktuelleDaten(checkliste));
+	}
+
+	private ChecklisteDaten aktuelleDaten(final Checkliste checkliste) {
+
 		ChecklisteDaten geaenderteDaten = ChecklisteDatenMapper.deserialize(checkliste, new String[] {
 			"Ändern gescheitert (konkurrierendes Update konnte nicht verarbeitet werden: Fehler beim deJSONisieren)" });
+		checklistenItemStore.itemsLaden(checkliste, geaenderteDaten);
 		// nur zur Sicherheit.
 		geaenderteDaten.setVersion(checkliste.getVersion());
-		return new ResponsePayload(MessagePayload.warn("Jemand anderes hat die Daten geändert. Anbei die neue Version"),
-			geaenderteDaten);
+		return new ChecklisteDatenSanitizer().apply(geaenderteDaten);
 	}
 
 	/**
@@ -242,13 +555,13 @@ public class ChecklistenService {
 	 *                String
 	 */
 	@Transactional
-	public void deleteCheckliste(final String kuerzel, final String userUUID) {
+	public void deleteCheckliste(final String kuerzel, final UserSession userSession) {
 
-		Optional<Checklistenuser> optUser = userDao.findByUniqueIdentifier(userUUID);
+		final String gruppe = userGruppenCache.getGruppe(userSession);
 
-		if (!optUser.isPresent()) {
+		if (gruppe == null) {
 
-			LOG.warn("Kein user mit UUID={} vorhanden. AuthException", userUUID);
+			LOG.warn("Kein user mit UUID={} vorhanden. AuthException", userSession.getUuid());
 			throw new AuthException("Nö, keine Berechtigung.");
 		}
 
@@ -260,11 +573,10 @@ public class ChecklistenService {
 
 				Checkliste checkliste = opt.get();
 
-				Checklistenuser user = optUser.get();
-
-				authorizeUserForCheckliste(user, checkliste, "löschen");
+				authorizeUserForCheckliste(userSession, gruppe, checkliste, "löschen");
 
 				checklisteDao.delete(checkliste);
+				checklisteDatenCache.invalidate(kuerzel);
 				LOG.debug("gelöscht: {}", opt.get());
 			} else {
 
@@ -283,13 +595,18 @@ public class ChecklistenService {
 		return StringUtils.abbreviate(longString, 11);
 	}
 
-	private void authorizeUserForCheckliste(final Checklistenuser user, final Checkliste checkliste, final String kontext) {
+	private void authorizeUserForCheckliste(final UserSession userSession, final String userGruppe, final Checkliste checkliste, final String kontext) {
+
+		authorizeUserForCheckliste(userSession, userGruppe, checkliste.getKuerzel(), checkliste.getGruppe(), kontext);
+	}
+
+	private void authorizeUserForCheckliste(final UserSession userSession, final String userGruppe, final String kuerzel, final String gruppe, final String kontext) {
 
-		if (!user.getGruppe().equals(checkliste.getGruppe())) {
+		if (!userGruppe.equals(gruppe)) {
 
-			LOG.warn(LogmessagePrefixes.BOT + "user " + abbreviate(user.getUuid()) + ", gruppe=" + abbreviate(user.getGruppe())
+			LOG.warn(LogmessagePrefixes.BOT + "user " + abbreviate(userSession.getUuid()) + ", gruppe=" + abbreviate(userGruppe)
 				+ " versucht Checkliste "
-				+ abbreviate(checkliste.getKuerzel() + ", gruppe=" + abbreviate(checkliste.getGruppe()) + " zu " + kontext));
+				+ abbreviate(kuerzel + ", gruppe=" + abbreviate(gruppe) + " zu " + kontext));
 			throw new AuthException("Nö: diese Checkliste darfst Du nicht " + kontext);
 		}
 	}
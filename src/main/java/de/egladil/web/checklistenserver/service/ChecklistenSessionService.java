@@ -4,23 +4,17 @@
 // =====================================================
 package de.egladil.web.checklistenserver.service;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.StringWriter;
-import java.nio.charset.Charset;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
 import java.util.Base64;
-import java.util.Date;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.ws.rs.core.NewCookie;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.jwt.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,14 +27,13 @@ import com.auth0.jwt.interfaces.DecodedJWT;
 import de.egladil.web.checklistenserver.ChecklistenServerApp;
 import de.egladil.web.checklistenserver.domain.UserSession;
 import de.egladil.web.checklistenserver.error.AuthException;
-import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
 import de.egladil.web.checklistenserver.error.LogmessagePrefixes;
 import de.egladil.web.commons_crypto.CryptoService;
-import de.egladil.web.commons_crypto.JWTService;
 import de.egladil.web.commons_net.exception.SessionExpiredException;
-import de.egladil.web.commons_net.time.CommonTimeUtils;
 import de.egladil.web.commons_net.utils.CommonHttpUtils;
 import de.egladil.web.commons_validation.payload.HateoasPayload;
+import io.quarkus.scheduler.Scheduled;
+import io.quarkus.scheduler.Scheduled.ConcurrentExecution;
 
 /**
  * ChecklistenSessionService
@@ -50,25 +43,32 @@ public class ChecklistenSessionService {
 
 	private static final Logger LOG = LoggerFactory.getLogger(ChecklistenSessionService.class);
 
-	private static final int SESSION_IDLE_TIMEOUT_MINUTES = 120;
+	private static final long SESSION_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(120);
 
-	// TODO: das muss in die Datenbank
-	private ConcurrentHashMap<String, UserSession> sessions = new ConcurrentHashMap<>();
+	@Inject
+	@ConfigProperty(name = "session.refresh-slack", defaultValue = "60s")
+	Duration refreshSlack;
+
+	@Inject
+	SessionRepository sessionRepository;
 
 	@Inject
 	CryptoService cryptoService;
 
 	@Inject
-	JWTService jwtService;
+	AuthproviderJwtVerifier jwtVerifier;
 
 	@Inject
 	SignUpService signupService;
 
+	@Inject
+	UserGruppenCache userGruppenCache;
+
 	public UserSession createUserSession(final String jwt) {
 
 		try {
 
-			DecodedJWT decodedJWT = jwtService.verify(jwt, getPublicKey());
+			DecodedJWT decodedJWT = jwtVerifier.verify(jwt);
 
 			String uuid = decodedJWT.getSubject();
 
@@ -96,7 +96,11 @@ public class ChecklistenSessionService {
 			UserSession userSession = UserSession.create(uuid, sesionId, roles, CommonHttpUtils.createUserIdReference());
 			userSession.setExpiresAt(getSessionTimeout());
 
-			sessions.put(sesionId, userSession);
+			// beim Login frisch aus USERS, damit eine geänderte Gruppe greift
+			userGruppenCache.invalidate(uuid);
+			userSession.setGruppe(userGruppenCache.getGruppe(uuid));
+
+			sessionRepository.save(userSession);
 
 			return userSession;
 		} catch (TokenExpiredException e) {
@@ -111,28 +115,13 @@ public class ChecklistenSessionService {
 
 	}
 
-	public UserSession refresh(final String sessionId) {
-
-		UserSession userSession = sessions.get(sessionId);
-
-		if (userSession != null) {
-
-			userSession.setExpiresAt(getSessionTimeout());
-
-			return userSession;
-		} else {
-
-			throw new SessionExpiredException("keine Session mehr vorhanden");
-		}
-
-	}
-
 	public void invalidate(final String sessionId) {
 
-		UserSession userSession = sessions.remove(sessionId);
+		UserSession userSession = sessionRepository.remove(sessionId);
 
 		if (userSession != null) {
 
+			userGruppenCache.invalidate(userSession.getUuid());
 			LOG.info("Session invalidated: {} - {}", sessionId, userSession.getUuid().substring(0, 8));
 		}
 
@@ -161,50 +150,94 @@ public class ChecklistenSessionService {
 		return sessionCookie;
 	}
 
-	private byte[] getPublicKey() {
+	/**
+	 * Gibt die Session mit der gegebenen sessionId zurück, falls sie noch gültig ist, und verlängert sie. Die Verlängerung wird
+	 * nur gespeichert, wenn sie das expiresAt um mindestens session.refresh-slack nach hinten schiebt. So wird bei dicht
+	 * aufeinander folgenden Requests nicht jedes Mal geschrieben.
+	 *
+	 * @param  sessionId
+	 *                                 String
+	 * @return                         UserSession oder null, falls es keine Session mit der sessionId gibt.
+	 * @throws SessionExpiredException
+	 *                                 falls die Session abgelaufen ist.
+	 */
+	public UserSession validateAndTouch(final String sessionId) throws SessionExpiredException {
+
+		UserSession userSession = sessionRepository.find(sessionId);
 
-		try (InputStream in = getClass().getResourceAsStream("/META-INF/authprov_public_key.pem");
-			StringWriter sw = new StringWriter()) {
+		if (userSession == null) {
+
+			return null;
+		}
 
-			IOUtils.copy(in, sw, Charset.forName("UTF-8"));
+		long now = System.currentTimeMillis();
+		long expiresAt = userSession.getExpiresAt();
 
-			return sw.toString().getBytes();
-		} catch (IOException e) {
+		if (now > expiresAt) {
 
-			throw new ChecklistenRuntimeException("Konnte jwt-public-key nicht lesen: " + e.getMessage());
+			userSession = sessionRepository.expire(sessionId, now);
+
+			if (userSession == null) {
+
+				throw new SessionExpiredException("Ihre Session ist abgelaufen. Bitte loggen Sie sich erneut ein.");
+			}
+
+			expiresAt = userSession.getExpiresAt();
 		}
 
+		long neuesExpiresAt = now + SESSION_IDLE_TIMEOUT_MILLIS;
+
+		if (neuesExpiresAt - expiresAt >= refreshSlack.toMillis()) {
+
+			userSession.setExpiresAt(neuesExpiresAt);
+			sessionRepository.touch(userSession);
+		}
+
+		return userSession;
 	}
 
 	/**
-	 * Gibt die Session mit der gegebenen sessionId zurück.
-	 *
-	 * @param  sessionId
-	 *                   String
-	 * @return           UserSession oder null.
+	 * Entfernt regelmäßig die abgelaufenen Sessions, damit verlassene Sessions nicht bis zum nächsten Zugriff den Heap belegen.
 	 */
-	public UserSession getSession(final String sessionId) throws SessionExpiredException {
+	@Scheduled(every = "{session.store.expiry-interval}", concurrentExecution = ConcurrentExecution.SKIP)
+	void removeExpiredSessions() {
 
-		UserSession userSession = sessions.get(sessionId);
+		int anzahl = sessionRepository.removeExpired(System.currentTimeMillis());
 
-		if (userSession != null) {
+		if (anzahl > 0) {
 
-			LocalDateTime expireDateTime = CommonTimeUtils.transformFromDate(new Date(userSession.getExpiresAt()));
-			LocalDateTime now = CommonTimeUtils.now();
+			LOG.info("{} abgelaufene Sessions entfernt: sessions={}, evictions={}, expirations={}", anzahl,
+				sessionRepository.getAnzahlSessions(), sessionRepository.getAnzahlEvictions(),
+				sessionRepository.getAnzahlExpirations());
+		}
+	}
 
-			if (now.isAfter(expireDateTime)) {
+	/**
+	 * @return int Anzahl der aktuell gehaltenen Sessions.
+	 */
+	public int getAnzahlSessions() {
 
-				sessions.remove(sessionId);
-				throw new SessionExpiredException("Ihre Session ist abgelaufen. Bitte loggen Sie sich erneut ein.");
-			}
+		return sessionRepository.getAnzahlSessions();
+	}
 
-		}
-		return userSession;
+	/**
+	 * @return long Anzahl der Sessions, die verdrängt wurden, weil session.store.max-size erreicht war.
+	 */
+	public long getAnzahlEvictions() {
+
+		return sessionRepository.getAnzahlEvictions();
+	}
+
+	/**
+	 * @return long Anzahl der Sessions, die wegen Ablauf entfernt wurden.
+	 */
+	public long getAnzahlExpirations() {
+
+		return sessionRepository.getAnzahlExpirations();
 	}
 
 	private long getSessionTimeout() {
 
-		return CommonTimeUtils.getInterval(CommonTimeUtils.now(), SESSION_IDLE_TIMEOUT_MINUTES,
-			ChronoUnit.MINUTES).getEndTime().getTime();
+		return System.currentTimeMillis() + SESSION_IDLE_TIMEOUT_MILLIS;
 	}
 }
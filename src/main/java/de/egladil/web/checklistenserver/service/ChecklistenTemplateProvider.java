@@ -5,45 +5,31 @@
 
 package de.egladil.web.checklistenserver.service;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.nio.file.Paths;
-import java.text.Collator;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.Date;
 import java.util.List;
-import java.util.Locale;
-import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import de.egladil.web.checklistenserver.config.EinkaufslisteTemplate;
-import de.egladil.web.checklistenserver.config.PacklisteTemplate;
-import de.egladil.web.checklistenserver.dao.impl.UserDao;
+import de.egladil.web.checklistenserver.config.AbstractListeTemplate;
+import de.egladil.web.checklistenserver.config.ListeTemplateStand;
 import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
 import de.egladil.web.checklistenserver.domain.ChecklisteTemplate;
 import de.egladil.web.checklistenserver.domain.ChecklisteTemplateItem;
 import de.egladil.web.checklistenserver.domain.ChecklistenItem;
 import de.egladil.web.checklistenserver.domain.Checklistentyp;
-import de.egladil.web.checklistenserver.domain.Checklistenuser;
+import de.egladil.web.checklistenserver.domain.UserSession;
 import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
 import de.egladil.web.checklistenserver.error.ConcurrentUpdateException;
-import de.egladil.web.checklistenserver.sanitize.ChecklisteDatenSanitizer;
 import de.egladil.web.checklistenserver.sanitize.ChecklisteTemplateSanitizer;
-import de.egladil.web.commons_net.time.CommonTimeUtils;
 
 /**
  * ChecklistenTemplateProvider
@@ -54,69 +40,82 @@ public class ChecklistenTemplateProvider {
 	private static final Logger LOG = LoggerFactory.getLogger(ChecklistenTemplateProvider.class);
 
 	@Inject
-	EinkaufslisteTemplate einkaufslisteTemplate;
+	ListeTemplateStore listeTemplateStore;
 
 	@Inject
-	UserDao userDao;
+	UserGruppenCache userGruppenCache;
 
-	@Inject
-	PacklisteTemplate packlisteTemplate;
+	/* typ/gruppe -> aus einem ListeTemplateStand gebautes, sanitiertes Template */
+	private final ConcurrentHashMap<String, GebautesTemplate> sanitizedTemplates = new ConcurrentHashMap<>();
 
-	public List<ChecklisteTemplate> getTemplates(final String userUuid) {
+	/**
+	 * Gibt alle Templates der Gruppe zurück. Die Stände werden in einem Durchgang geladen.<br>
+	 * <br>
+	 * Die Templates sind bereits sanitiert und werden von allen Requests der Gruppe geteilt, solange sich die Listenvorlage nicht
+	 * ändert. Sie dürfen daher nicht verändert werden; ihre Items sind unveränderlich.
+	 *
+	 * @param  userSession
+	 *                     UserSession
+	 * @return             List unveränderlich
+	 */
+	public List<ChecklisteTemplate> getTemplates(final UserSession userSession) {
 
-		Optional<Checklistenuser> optUser = userDao.findByUniqueIdentifier(userUuid);
+		final String gruppe = getGruppe(userSession);
 
-		if (optUser.isEmpty()) {
+		List<ChecklisteTemplate> result = new ArrayList<>();
 
-			throw new ChecklistenRuntimeException("An dieser Stelle müsste ein User mit uuid=" + userUuid + " vorhanden sein");
-		}
+		listeTemplateStore.getStaende(gruppe).forEach((typ, stand) -> result.add(getSanitizedTemplate(typ, gruppe, stand)));
 
-		final String gruppe = optUser.get().getGruppe();
+		return Collections.unmodifiableList(result);
 
-		List<ChecklisteTemplate> result = new ArrayList<>();
+	}
 
-		Arrays.stream(Checklistentyp.values()).filter(typ -> typ.hasTemplate()).forEach(typ -> {
+	/**
+	 * Gibt das ChecklisteTemplate des gegebenen Typs zurück. Wie bei getTemplates ist es bereits sanitiert und darf nicht
+	 * verändert werden.
+	 *
+	 * @param  typ
+	 *                     Checklistentyp
+	 * @param  userSession
+	 *                     UserSession
+	 * @return             ChecklisteTemplate
+	 */
+	public ChecklisteTemplate getTemplateMitTypFuerGruppe(final Checklistentyp typ, final UserSession userSession) {
 
-			List<ChecklistenItem> items = readFromFile(typ, gruppe);
+		final String gruppe = getGruppe(userSession);
 
-			ChecklisteTemplate template = ChecklisteTemplate.create(typ);
+		return getSanitizedTemplate(typ, gruppe, listeTemplateStore.getStand(typ, gruppe));
+	}
 
-			items.stream().forEach(item -> template.addItem(ChecklisteTemplateItem.create(item.getName(), typ)));
+	private ChecklisteTemplate getSanitizedTemplate(final Checklistentyp typ, final String gruppe, final ListeTemplateStand stand) {
 
-			template.sortItems();
+		String key = typ + "/" + gruppe;
+		GebautesTemplate vorhanden = sanitizedTemplates.get(key);
 
-			result.add(template);
-		});
+		// ein neu gelesener Stand ist ein neues Objekt, so dass auch eine Änderung mit gleicher Version erkannt wird.
+		if (vorhanden != null && vorhanden.stand == stand) {
 
-		return result;
+			return vorhanden.template;
+		}
 
+		ChecklisteTemplate template = new ChecklisteTemplateSanitizer().apply(createTemplate(typ, stand));
+		sanitizedTemplates.put(key, new GebautesTemplate(stand, template));
+		return template;
 	}
 
-	/**
-	 * Gibt das ChecklisteTemplate des gegebenen Typs zurück.
-	 *
-	 * @param  typ
-	 *                  Checklistentyp
-	 * @param  userUuid
-	 *                  String Name der Gruppe
-	 * @return          ChecklisteTemplate
-	 */
-	public ChecklisteTemplate getTemplateMitTypFuerGruppe(final Checklistentyp typ, final String userUuid) {
+	private ChecklisteTemplate createTemplate(final Checklistentyp typ, final String gruppe) {
 
-		Optional<Checklistenuser> optUser = userDao.findByUniqueIdentifier(userUuid);
+		return createTemplate(typ, listeTemplateStore.getStand(typ, gruppe));
+	}
 
-		if (optUser.isEmpty()) {
+	private ChecklisteTemplate createTemplate(final Checklistentyp typ, final ListeTemplateStand stand) {
 
-			throw new ChecklistenRuntimeException("An dieser Stelle müsste ein User mit uuid=" + userUuid + " vorhanden sein");
-		}
+		// die Namen sind schon ohne Dubletten und sortiert, also weder addItem noch sortItems.
+		List<ChecklisteTemplateItem> items = new ArrayList<>(stand.getNamen().size());
+		stand.getNamen().forEach(name -> items.add(ChecklisteTemplateItem.create(name, typ)));
 
-		final ChecklisteTemplate result = ChecklisteTemplate.create(typ);
-		List<ChecklistenItem> items = readFromFile(typ, optUser.get().getGruppe());
-		items.stream().forEach(item -> result.addItem(ChecklisteTemplateItem.create(item.getName(), typ)));
-		result.setReadTime(System.currentTimeMillis());
-
-		result.sortItems();
-		return result;
+		// die Version wird beim Speichern zurückgegeben und dort mit der dann aktuellen verglichen.
+		return ChecklisteTemplate.create(typ, Collections.unmodifiableList(items), stand.getVersion());
 	}
 
 	/**
@@ -133,8 +132,6 @@ public class ChecklistenTemplateProvider {
 
 		ChecklisteDaten result = new ChecklisteDaten();
 
-		result = new ChecklisteDatenSanitizer().apply(result);
-
 		result.setTyp(typ);
 		result.setKuerzel(UUID.randomUUID().toString());
 		List<ChecklistenItem> items = readFromFile(typ, gruppe);
@@ -144,19 +141,14 @@ public class ChecklistenTemplateProvider {
 	}
 
 	/**
-	 * Überschreibt die Template-Datei mit den Item-Namen für diese Gruppe.
+	 * Überschreibt die Listenvorlage dieser Gruppe mit den Item-Namen.
 	 *
 	 * @param template
 	 * @param userSession
 	 */
-	public ChecklisteTemplate templateSpeichern(final ChecklisteTemplate template, final String userUuid) throws ConcurrentUpdateException {
+	public ChecklisteTemplate templateSpeichern(final ChecklisteTemplate template, final UserSession userSession) throws ConcurrentUpdateException {
 
-		Optional<Checklistenuser> optUser = userDao.findByUniqueIdentifier(userUuid);
-
-		if (optUser.isEmpty()) {
-
-			throw new ChecklistenRuntimeException("An dieser Stelle müsste ein User mit uuid=" + userUuid + " vorhanden sein");
-		}
+		final String gruppe = getGruppe(userSession);
 
 		switch (template.getTyp()) {
 
@@ -173,7 +165,7 @@ public class ChecklistenTemplateProvider {
 
 		try {
 
-			ChecklisteTemplate persisted = this.writeToFile(template.getTyp(), optUser.get(), template.getItems());
+			ChecklisteTemplate persisted = this.writeToFile(template.getTyp(), gruppe, template);
 
 			persisted = new ChecklisteTemplateSanitizer().apply(persisted);
 			return persisted;
@@ -195,96 +187,74 @@ public class ChecklistenTemplateProvider {
 	 */
 	List<ChecklistenItem> mapToChecklistenItems(final String[] namen) {
 
-		Set<String> gefilterteNamen = Stream.of(namen).filter(name -> StringUtils.isNotBlank(name)).map(name -> name.trim())
-			.collect(Collectors.toSet());
-
-		ArrayList<String> namenliste = new ArrayList<>(gefilterteNamen);
+		return mapToChecklistenItems(AbstractListeTemplate.sortiereNamen(namen));
+	}
 
-		Collator coll = Collator.getInstance(Locale.GERMAN);
-		coll.setStrength(Collator.PRIMARY);
-		Collections.sort(namenliste, coll);
+	private List<ChecklistenItem> mapToChecklistenItems(final List<String> namen) {
 
-		List<ChecklistenItem> result = namenliste.stream().map(ChecklistenItem::fromName)
+		List<ChecklistenItem> result = namen.stream().map(ChecklistenItem::fromName)
 			.collect(Collectors.toList());
 		return result;
 	}
 
-	private List<ChecklistenItem> readFromFile(final Checklistentyp typ, final String gruppe) {
+	private String getGruppe(final UserSession userSession) {
 
-		switch (typ) {
+		final String gruppe = userGruppenCache.getGruppe(userSession);
 
-		case EINKAUFSLISTE:
-			return mapToChecklistenItems(einkaufslisteTemplate.getListeTemplate(gruppe));
+		if (gruppe == null) {
 
-		case PACKLISTE:
-			return mapToChecklistenItems(packlisteTemplate.getListeTemplate(gruppe));
-
-		default:
-			return new ArrayList<>();
+			throw new ChecklistenRuntimeException(
+				"An dieser Stelle müsste ein User mit uuid=" + userSession.getUuid() + " vorhanden sein");
 		}
-	}
-
-	private ChecklisteTemplate writeToFile(final Checklistentyp typ, final Checklistenuser user, final List<ChecklisteTemplateItem> items) throws IOException, ConcurrentUpdateException {
 
-		String pathTemplateFile = null;
-
-		switch (typ) {
+		return gruppe;
+	}
 
-		case EINKAUFSLISTE:
-			pathTemplateFile = einkaufslisteTemplate.getPathTemplateFile(user.getGruppe());
-			break;
+	private List<ChecklistenItem> readFromFile(final Checklistentyp typ, final String gruppe) {
 
-		case PACKLISTE:
-			pathTemplateFile = packlisteTemplate.getPathTemplateFile(user.getGruppe());
-			break;
+		if (!typ.hasTemplate()) {
 
-		default:
-			break;
+			return new ArrayList<>();
 		}
 
-		if (pathTemplateFile != null) {
+		// die Items werden von den Aufrufern verändert, daher jedes Mal neu. Die Namen kommen aus dem Cache.
+		return mapToChecklistenItems(listeTemplateStore.getStand(typ, gruppe).getNamen());
+	}
 
-			File templateFile = new File(pathTemplateFile);
+	private ChecklisteTemplate writeToFile(final Checklistentyp typ, final String gruppe, final ChecklisteTemplate template) throws IOException, ConcurrentUpdateException {
 
-			if (templateFile.isFile()) {
+		if (!typ.hasTemplate()) {
 
-				long lastModified = java.nio.file.Files.getLastModifiedTime(Paths.get(pathTemplateFile)).toMillis();
-				LocalDateTime timeLastModified = CommonTimeUtils.transformFromDate(new Date(lastModified));
+			return null;
+		}
 
-				if (LocalDateTime.now().isBefore(timeLastModified)) {
+		List<String> namen = template.getItems().stream().map(ChecklisteTemplateItem::getName).collect(Collectors.toList());
 
-					ChecklisteTemplate neuesTemplate = getTemplateMitTypFuerGruppe(typ, user.getUuid());
+		try {
 
-					ConcurrentUpdateException concurrentUpdateException = new ConcurrentUpdateException(
-						"Listenvorlage " + typ + " wurde kürzlich durch jemand anderen geändert. Anbei die neue Version.");
-					concurrentUpdateException.setActualData(neuesTemplate);
-					throw concurrentUpdateException;
-				}
-			}
+			ListeTemplateStand stand = listeTemplateStore.speichern(typ, gruppe, namen, template.getReadTime());
+			return ChecklisteTemplate.create(typ, template.getItems(), stand.getVersion());
+		} catch (ConcurrentUpdateException e) {
 
-			// String pathBackupFile = pathTemplateFile + "-" + System.currentTimeMillis();
-			//
-			// java.nio.file.Files.move(Paths.get(pathTemplateFile), Paths.get(pathBackupFile),
-			// StandardCopyOption.REPLACE_EXISTING);
+			ChecklisteTemplate neuesTemplate = createTemplate(typ, gruppe);
 
-			try (FileWriter fw = new FileWriter(templateFile)) {
+			ConcurrentUpdateException concurrentUpdateException = new ConcurrentUpdateException(
+				"Listenvorlage " + typ + " wurde kürzlich durch jemand anderen geändert. Anbei die neue Version.");
+			concurrentUpdateException.setActualData(neuesTemplate);
+			throw concurrentUpdateException;
+		}
+	}
 
-				for (int i = 0; i < items.size(); i++) {
+	private static class GebautesTemplate {
 
-					String name = items.get(i).getName();
-					fw.write(name);
+		private final ListeTemplateStand stand;
 
-					if (i < items.size() - 1) {
+		private final ChecklisteTemplate template;
 
-						fw.write(System.lineSeparator());
-					}
-				}
-				fw.flush();
-			}
+		GebautesTemplate(final ListeTemplateStand stand, final ChecklisteTemplate template) {
 
-			return ChecklisteTemplate.create(typ, items, System.currentTimeMillis());
+			this.stand = stand;
+			this.template = template;
 		}
-
-		return null;
 	}
 }
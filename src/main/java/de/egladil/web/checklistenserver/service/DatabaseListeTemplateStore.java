@@ -0,0 +1,230 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.PersistenceException;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.egladil.web.checklistenserver.config.AbstractListeTemplate;
+import de.egladil.web.checklistenserver.config.ListeTemplateStand;
+import de.egladil.web.checklistenserver.dao.IListenvorlageDao;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+import de.egladil.web.checklistenserver.domain.Listenvorlage;
+import de.egladil.web.checklistenserver.error.ConcurrentUpdateException;
+import io.quarkus.arc.properties.IfBuildProperty;
+
+/**
+ * DatabaseListeTemplateStore hält die Listenvorlagen in der Tabelle LISTENVORLAGEN (src/main/sql/7.2.0_listenvorlagen.sql).<br>
+ * <br>
+ * Gelesen wird durch einen Cache: ein Stand wird höchstens template.store.db.cache-ttl lang wiederverwendet. Eine auf einer
+ * anderen Instanz gespeicherte Änderung ist daher spätestens nach dieser Zeit sichtbar. Verloren gehen kann dabei keine
+ * Änderung, weil beim Speichern die Version in der Datenbank verglichen wird und nicht die im Cache.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "template.store", stringValue = "db")
+public class DatabaseListeTemplateStore implements ListeTemplateStore {
+
+	static final String TRENNZEICHEN = "\n";
+
+	private static final Logger LOG = LoggerFactory.getLogger(DatabaseListeTemplateStore.class);
+
+	private static final long ANZAHL_TYPEN_MIT_TEMPLATE = Arrays.stream(Checklistentyp.values()).filter(Checklistentyp::hasTemplate)
+		.count();
+
+	@Inject
+	@ConfigProperty(name = "template.store.db.cache-ttl", defaultValue = "30s")
+	Duration cacheTtl;
+
+	@Inject
+	IListenvorlageDao listenvorlageDao;
+
+	/* typ/gruppe -> gelesener Stand */
+	private final ConcurrentHashMap<String, Eintrag> eintraege = new ConcurrentHashMap<>();
+
+	@Override
+	public ListeTemplateStand getStand(final Checklistentyp typ, final String gruppe) {
+
+		String key = getKey(typ, gruppe);
+		Eintrag eintrag = eintraege.get(key);
+
+		if (istGueltig(eintrag)) {
+
+			return eintrag.stand;
+		}
+
+		return laden(typ, gruppe);
+	}
+
+	@Override
+	public Map<Checklistentyp, ListeTemplateStand> getStaende(final String gruppe) {
+
+		Map<Checklistentyp, ListeTemplateStand> result = new EnumMap<>(Checklistentyp.class);
+
+		for (Checklistentyp typ : Checklistentyp.values()) {
+
+			Eintrag eintrag = eintraege.get(getKey(typ, gruppe));
+
+			if (typ.hasTemplate() && istGueltig(eintrag)) {
+
+				result.put(typ, eintrag.stand);
+			}
+		}
+
+		if (result.size() < ANZAHL_TYPEN_MIT_TEMPLATE) {
+
+			// eine Abfrage für alle Typen statt einer je Typ
+			result = ladenAlle(gruppe);
+		}
+
+		return result;
+	}
+
+	@Override
+	public ListeTemplateStand speichern(final Checklistentyp typ, final String gruppe, final List<String> namen, final long erwarteteVersion) throws ConcurrentUpdateException {
+
+		List<String> sortierteNamen = AbstractListeTemplate.sortiereNamen(namen.toArray(new String[0]));
+		String namenAlsText = String.join(TRENNZEICHEN, sortierteNamen);
+
+		boolean gespeichert;
+
+		if (erwarteteVersion == 0) {
+
+			gespeichert = anlegen(typ, gruppe, namenAlsText);
+		} else {
+
+			gespeichert = listenvorlageDao.aendern(gruppe, typ, namenAlsText, erwarteteVersion);
+		}
+
+		if (!gespeichert) {
+
+			LOG.warn("Listenvorlage {}: Version {} erwartet, wurde aber inzwischen geändert", typ, erwarteteVersion);
+			eintraege.remove(getKey(typ, gruppe));
+			throw new ConcurrentUpdateException("Listenvorlage wurde kürzlich durch jemand anderen geändert. Anbei die neue Version.");
+		}
+
+		ListeTemplateStand result = new ListeTemplateStand(sortierteNamen, erwarteteVersion + 1);
+		eintraege.put(getKey(typ, gruppe), new Eintrag(result));
+		return result;
+	}
+
+	/**
+	 * Legt die Listenvorlage an, falls es sie noch nicht gibt. Für den ListenvorlagenImporter, der bei jedem Start und auf jeder
+	 * Instanz läuft: eine schon vorhandene Listenvorlage ist dort der Normalfall und kein Konflikt.
+	 *
+	 * @param  typ
+	 *                Checklistentyp
+	 * @param  gruppe
+	 *                String
+	 * @param  namen
+	 *                List
+	 * @return        boolean true, wenn sie angelegt wurde, false, wenn es sie schon gab.
+	 */
+	public boolean anlegenFallsNeu(final Checklistentyp typ, final String gruppe, final List<String> namen) {
+
+		List<String> sortierteNamen = AbstractListeTemplate.sortiereNamen(namen.toArray(new String[0]));
+
+		if (!anlegen(typ, gruppe, String.join(TRENNZEICHEN, sortierteNamen))) {
+
+			return false;
+		}
+
+		eintraege.put(getKey(typ, gruppe), new Eintrag(new ListeTemplateStand(sortierteNamen, 1)));
+		return true;
+	}
+
+	private boolean anlegen(final Checklistentyp typ, final String gruppe, final String namen) {
+
+		if (listenvorlageDao.findByGruppeUndTyp(gruppe, typ).isPresent()) {
+
+			return false;
+		}
+
+		try {
+
+			listenvorlageDao.anlegen(Listenvorlage.create(gruppe, typ, namen));
+			return true;
+		} catch (PersistenceException e) {
+
+			// eine andere Instanz war schneller: der unique key (GRUPPE, TYP) greift.
+			LOG.debug("Listenvorlage {} konnte nicht angelegt werden: {}", typ, e.getMessage());
+			return false;
+		}
+	}
+
+	private ListeTemplateStand laden(final Checklistentyp typ, final String gruppe) {
+
+		Optional<Listenvorlage> optVorlage = listenvorlageDao.findByGruppeUndTyp(gruppe, typ);
+
+		ListeTemplateStand result = optVorlage.isPresent() ? toStand(optVorlage.get())
+			: new ListeTemplateStand(Collections.emptyList(), 0);
+
+		eintraege.put(getKey(typ, gruppe), new Eintrag(result));
+		return result;
+	}
+
+	private Map<Checklistentyp, ListeTemplateStand> ladenAlle(final String gruppe) {
+
+		Map<Checklistentyp, ListeTemplateStand> result = new EnumMap<>(Checklistentyp.class);
+
+		for (Listenvorlage vorlage : listenvorlageDao.findByGruppe(gruppe)) {
+
+			result.put(vorlage.getTyp(), toStand(vorlage));
+		}
+
+		for (Checklistentyp typ : Checklistentyp.values()) {
+
+			if (typ.hasTemplate()) {
+
+				result.putIfAbsent(typ, new ListeTemplateStand(Collections.emptyList(), 0));
+				eintraege.put(getKey(typ, gruppe), new Eintrag(result.get(typ)));
+			}
+		}
+
+		return result;
+	}
+
+	private ListeTemplateStand toStand(final Listenvorlage vorlage) {
+
+		return new ListeTemplateStand(AbstractListeTemplate.sortiereNamen(vorlage.getNamen().split(TRENNZEICHEN)),
+			vorlage.getVersion());
+	}
+
+	private boolean istGueltig(final Eintrag eintrag) {
+
+		return eintrag != null && System.nanoTime() - eintrag.geladenAm < cacheTtl.toNanos();
+	}
+
+	private static String getKey(final Checklistentyp typ, final String gruppe) {
+
+		return typ + "/" + gruppe;
+	}
+
+	private static class Eintrag {
+
+		private final ListeTemplateStand stand;
+
+		private final long geladenAm;
+
+		Eintrag(final ListeTemplateStand stand) {
+
+			this.stand = stand;
+			this.geladenAm = System.nanoTime();
+		}
+	}
+}
@@ -0,0 +1,55 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import de.egladil.web.checklistenserver.domain.Checkliste;
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+import de.egladil.web.checklistenserver.payload.ItemOperation;
+import io.quarkus.arc.properties.UnlessBuildProperty;
+
+/**
+ * DatenChecklistenItemStore lässt die Items im JSON in CHECKLISTEN.DATEN.
+ */
+@ApplicationScoped
+@UnlessBuildProperty(name = "checkliste.items", stringValue = "tabelle", enableIfMissing = true)
+public class DatenChecklistenItemStore implements ChecklistenItemStore {
+
+	@Override
+	public String serialisieren(final ChecklisteDaten daten, final String errmContext) {
+
+		return ChecklisteDatenMapper.serialize(daten, errmContext);
+	}
+
+	@Override
+	public void itemsGespeichert(final Checkliste checkliste, final List<ChecklistenItem> items) {
+
+		// stehen schon in DATEN
+	}
+
+	@Override
+	public void itemsLaden(final Checkliste checkliste, final ChecklisteDaten daten) {
+
+		// kamen schon mit DATEN
+	}
+
+	@Override
+	public void itemsLaden(final Map<String, ChecklisteDaten> datenNachKuerzel) {
+
+		// kamen schon mit DATEN
+	}
+
+	@Override
+	public void patchen(final Checkliste checkliste, final ChecklisteDaten daten, final List<ItemOperation> operationen) {
+
+		checkliste.setDaten(ChecklisteDatenMapper.serialize(daten, "Patchen gescheitert"));
+		checkliste.zaehleItems(daten.getItems());
+	}
+}
@@ -0,0 +1,73 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import de.egladil.web.checklistenserver.config.AbstractListeTemplate;
+import de.egladil.web.checklistenserver.config.EinkaufslisteTemplate;
+import de.egladil.web.checklistenserver.config.ListeTemplateStand;
+import de.egladil.web.checklistenserver.config.PacklisteTemplate;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
+import de.egladil.web.checklistenserver.error.ConcurrentUpdateException;
+import io.quarkus.arc.properties.UnlessBuildProperty;
+
+/**
+ * FileListeTemplateStore hält die Listenvorlagen in den Template-Dateien &lt;gruppe&gt;_einkaufsliste.txt und
+ * &lt;gruppe&gt;_packliste.txt.
+ */
+@ApplicationScoped
+@UnlessBuildProperty(name = "template.store", stringValue = "db", enableIfMissing = true)
+public class FileListeTemplateStore implements ListeTemplateStore {
+
+	@Inject
+	EinkaufslisteTemplate einkaufslisteTemplate;
+
+	@Inject
+	PacklisteTemplate packlisteTemplate;
+
+	@Override
+	public ListeTemplateStand getStand(final Checklistentyp typ, final String gruppe) {
+
+		return getListeTemplate(typ).getStand(gruppe);
+	}
+
+	@Override
+	public Map<Checklistentyp, ListeTemplateStand> getStaende(final String gruppe) {
+
+		Map<Checklistentyp, ListeTemplateStand> result = new EnumMap<>(Checklistentyp.class);
+		result.put(Checklistentyp.EINKAUFSLISTE, einkaufslisteTemplate.getStand(gruppe));
+		result.put(Checklistentyp.PACKLISTE, packlisteTemplate.getStand(gruppe));
+		return result;
+	}
+
+	@Override
+	public ListeTemplateStand speichern(final Checklistentyp typ, final String gruppe, final List<String> namen, final long erwarteteVersion) throws ConcurrentUpdateException, IOException {
+
+		return getListeTemplate(typ).speichern(gruppe, namen, erwarteteVersion);
+	}
+
+	private AbstractListeTemplate getListeTemplate(final Checklistentyp typ) {
+
+		switch (typ) {
+
+		case EINKAUFSLISTE:
+			return einkaufslisteTemplate;
+
+		case PACKLISTE:
+			return packlisteTemplate;
+
+		default:
+			throw new ChecklistenRuntimeException("Checklistentyp " + typ + " hat kein Template");
+		}
+	}
+}
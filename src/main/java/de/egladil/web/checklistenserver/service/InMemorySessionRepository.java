@@ -0,0 +1,89 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import de.egladil.web.checklistenserver.domain.UserSession;
+import io.quarkus.arc.properties.UnlessBuildProperty;
+
+/**
+ * InMemorySessionRepository hält die Sessions nur im Speicher dieser Instanz. Nach einem Neustart sind alle Sessions weg.
+ */
+@ApplicationScoped
+@UnlessBuildProperty(name = "session.repository", stringValue = "jdbc", enableIfMissing = true)
+public class InMemorySessionRepository implements SessionRepository {
+
+	@Inject
+	@ConfigProperty(name = "session.store.max-size", defaultValue = "10000")
+	int maxAnzahlSessions;
+
+	private UserSessionStore sessions;
+
+	@PostConstruct
+	void init() {
+
+		sessions = new UserSessionStore(maxAnzahlSessions);
+	}
+
+	@Override
+	public UserSession find(final String sessionId) {
+
+		return sessions.get(sessionId);
+	}
+
+	@Override
+	public void save(final UserSession userSession) {
+
+		sessions.put(userSession);
+	}
+
+	@Override
+	public void touch(final UserSession userSession) {
+
+		// die Session im Speicher ist bereits dieselbe Instanz
+	}
+
+	@Override
+	public UserSession remove(final String sessionId) {
+
+		return sessions.remove(sessionId);
+	}
+
+	@Override
+	public UserSession expire(final String sessionId, final long now) {
+
+		sessions.expire(sessionId);
+		return null;
+	}
+
+	@Override
+	public int removeExpired(final long now) {
+
+		return sessions.evictExpired(now);
+	}
+
+	@Override
+	public int getAnzahlSessions() {
+
+		return sessions.getAnzahlSessions();
+	}
+
+	@Override
+	public long getAnzahlEvictions() {
+
+		return sessions.getAnzahlEvictions();
+	}
+
+	@Override
+	public long getAnzahlExpirations() {
+
+		return sessions.getAnzahlExpirations();
+	}
+}
@@ -0,0 +1,292 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.sql.DataSource;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.egladil.web.checklistenserver.domain.UserSession;
+import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.scheduler.Scheduled;
+import io.quarkus.scheduler.Scheduled.ConcurrentExecution;
+
+/**
+ * JdbcSessionRepository hält die Sessions in der Tabelle SESSIONS. Davor liegt ein Near-Cache, so dass bei einem Treffer kein
+ * Datenbankzugriff erfolgt. Verlängerungen von expiresAt werden gesammelt und per Batch-Update geschrieben (write-behind).<br>
+ * <br>
+ * Eine auf einer anderen Instanz ausgeloggte Session wird hier spätestens beim nächsten Schreiben der Verlängerungen aus dem
+ * Near-Cache entfernt, weil das Update dann keine Zeile mehr trifft.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "session.repository", stringValue = "jdbc")
+public class JdbcSessionRepository implements SessionRepository {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JdbcSessionRepository.class);
+
+	private static final String STMT_SELECT = "select SESSION_ID, UUID, ID_REFERENCE, ROLES, EXPIRES_AT from SESSIONS where SESSION_ID = ?";
+
+	private static final String STMT_INSERT = "insert into SESSIONS (SESSION_ID, UUID, ID_REFERENCE, ROLES, EXPIRES_AT) values (?, ?, ?, ?, ?)";
+
+	private static final String STMT_UPDATE_EXPIRES_AT = "update SESSIONS set EXPIRES_AT = ? where SESSION_ID = ?";
+
+	private static final String STMT_DELETE = "delete from SESSIONS where SESSION_ID = ?";
+
+	private static final String STMT_DELETE_EXPIRED = "delete from SESSIONS where EXPIRES_AT < ?";
+
+	private static final String STMT_DELETE_IF_EXPIRED = "delete from SESSIONS where SESSION_ID = ? and EXPIRES_AT < ?";
+
+	@Inject
+	DataSource dataSource;
+
+	@Inject
+	@ConfigProperty(name = "session.store.max-size", defaultValue = "10000")
+	int maxAnzahlSessions;
+
+	private UserSessionStore nearCache;
+
+	/* sessionId -> zu schreibendes expiresAt */
+	private final Map<String, Long> pendingExpiresAt = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	void init() {
+
+		nearCache = new UserSessionStore(maxAnzahlSessions);
+	}
+
+	@PreDestroy
+	void shutdown() {
+
+		flushPendingExpiresAt();
+	}
+
+	@Override
+	public UserSession find(final String sessionId) {
+
+		UserSession userSession = nearCache.get(sessionId);
+
+		if (userSession != null) {
+
+			return userSession;
+		}
+
+		try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(STMT_SELECT)) {
+
+			stmt.setString(1, sessionId);
+
+			try (ResultSet rs = stmt.executeQuery()) {
+
+				if (!rs.next()) {
+
+					return null;
+				}
+
+				userSession = UserSession.create(rs.getString("UUID"), rs.getString("SESSION_ID"), rs.getString("ROLES"),
+					rs.getString("ID_REFERENCE"));
+				userSession.setExpiresAt(rs.getLong("EXPIRES_AT"));
+			}
+
+			nearCache.put(userSession);
+			return userSession;
+		} catch (SQLException e) {
+
+			LOG.error("Fehler beim Lesen der Session: {}", e.getMessage(), e);
+			throw new ChecklistenRuntimeException("Fehler beim Lesen der Session");
+		}
+	}
+
+	@Override
+	public void save(final UserSession userSession) {
+
+		try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(STMT_INSERT)) {
+
+			stmt.setString(1, userSession.getSessionId());
+			stmt.setString(2, userSession.getUuid());
+			stmt.setString(3, userSession.getIdReference());
+			stmt.setString(4, userSession.getRoles());
+			stmt.setLong(5, userSession.getExpiresAt());
+			stmt.executeUpdate();
+		} catch (SQLException e) {
+
+			LOG.error("Fehler beim Speichern der Session: {}", e.getMessage(), e);
+			throw new ChecklistenRuntimeException("Fehler beim Speichern der Session");
+		}
+
+		nearCache.put(userSession);
+	}
+
+	@Override
+	public void touch(final UserSession userSession) {
+
+		pendingExpiresAt.put(userSession.getSessionId(), userSession.getExpiresAt());
+	}
+
+	@Override
+	public UserSession remove(final String sessionId) {
+
+		pendingExpiresAt.remove(sessionId);
+		delete(sessionId);
+		return nearCache.remove(sessionId);
+	}
+
+	@Override
+	public UserSession expire(final String sessionId, final long now) {
+
+		pendingExpiresAt.remove(sessionId);
+
+		int anzahl;
+
+		try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(STMT_DELETE_IF_EXPIRED)) {
+
+			stmt.setString(1, sessionId);
+			stmt.setLong(2, now);
+			anzahl = stmt.executeUpdate();
+		} catch (SQLException e) {
+
+			LOG.error("Fehler beim Löschen der Session: {}", e.getMessage(), e);
+			throw new ChecklistenRuntimeException("Fehler beim Löschen der Session");
+		}
+
+		if (anzahl > 0) {
+
+			nearCache.expire(sessionId);
+			return null;
+		}
+
+		// Near-Cache veraltet: eine andere Instanz hat verlängert (dann neu laden) oder schon gelöscht (dann null)
+		nearCache.remove(sessionId);
+		UserSession userSession = find(sessionId);
+
+		if (userSession == null || userSession.getExpiresAt() < now) {
+
+			nearCache.expire(sessionId);
+			return null;
+		}
+
+		return userSession;
+	}
+
+	@Override
+	public int removeExpired(final long now) {
+
+		try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(STMT_DELETE_EXPIRED)) {
+
+			stmt.setLong(1, now);
+			int anzahl = stmt.executeUpdate();
+			LOG.debug("{} abgelaufene Sessions aus der DB gelöscht", anzahl);
+		} catch (SQLException e) {
+
+			// nicht schlimm, beim nächsten Mal wieder
+			LOG.error("Fehler beim Löschen abgelaufener Sessions: {}", e.getMessage(), e);
+		}
+
+		return nearCache.evictExpired(now);
+	}
+
+	/**
+	 * Schreibt die gesammelten Verlängerungen in einem Batch in die Datenbank.
+	 */
+	@Scheduled(every = "{session.repository.jdbc.flush-interval}", concurrentExecution = ConcurrentExecution.SKIP)
+	void flushPendingExpiresAt() {
+
+		if (pendingExpiresAt.isEmpty()) {
+
+			return;
+		}
+
+		List<String> sessionIds = new ArrayList<>();
+		List<Long> expiresAts = new ArrayList<>();
+		Iterator<Map.Entry<String, Long>> iter = pendingExpiresAt.entrySet().iterator();
+
+		while (iter.hasNext()) {
+
+			Map.Entry<String, Long> entry = iter.next();
+			sessionIds.add(entry.getKey());
+			expiresAts.add(entry.getValue());
+			// remove(key, value): eine zwischenzeitlich erneute Verlängerung bleibt für den nächsten Lauf stehen.
+			pendingExpiresAt.remove(entry.getKey(), entry.getValue());
+		}
+
+		try (Connection conn = dataSource.getConnection();
+			PreparedStatement stmt = conn.prepareStatement(STMT_UPDATE_EXPIRES_AT)) {
+
+			for (int i = 0; i < sessionIds.size(); i++) {
+
+				stmt.setLong(1, expiresAts.get(i));
+				stmt.setString(2, sessionIds.get(i));
+				stmt.addBatch();
+			}
+
+			int[] counts = stmt.executeBatch();
+
+			for (int i = 0; i < counts.length; i++) {
+
+				if (counts[i] == 0) {
+
+					// woanders ausgeloggt oder abgelaufen
+					nearCache.remove(sessionIds.get(i));
+				}
+			}
+
+			LOG.debug("expiresAt von {} Sessions geschrieben", sessionIds.size());
+		} catch (SQLException e) {
+
+			LOG.error("Fehler beim Schreiben der Session-Verlängerungen: {}", e.getMessage(), e);
+
+			for (int i = 0; i < sessionIds.size(); i++) {
+
+				pendingExpiresAt.putIfAbsent(sessionIds.get(i), expiresAts.get(i));
+			}
+		}
+	}
+
+	@Override
+	public int getAnzahlSessions() {
+
+		return nearCache.getAnzahlSessions();
+	}
+
+	@Override
+	public long getAnzahlEvictions() {
+
+		return nearCache.getAnzahlEvictions();
+	}
+
+	@Override
+	public long getAnzahlExpirations() {
+
+		return nearCache.getAnzahlExpirations();
+	}
+
+	private void delete(final String sessionId) {
+
+		try (Connection conn = dataSource.getConnection(); PreparedStatement stmt = conn.prepareStatement(STMT_DELETE)) {
+
+			stmt.setString(1, sessionId);
+			stmt.executeUpdate();
+		} catch (SQLException e) {
+
+			LOG.error("Fehler beim Löschen der Session: {}", e.getMessage(), e);
+			throw new ChecklistenRuntimeException("Fehler beim Löschen der Session");
+		}
+	}
+}
@@ -0,0 +1,59 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import de.egladil.web.checklistenserver.config.ListeTemplateStand;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+import de.egladil.web.checklistenserver.error.ConcurrentUpdateException;
+
+/**
+ * ListeTemplateStore ist der Ablageort der Listenvorlagen. Standard ist FileListeTemplateStore mit den Template-Dateien je
+ * Gruppe. Mit der Build-Property template.store=db liegen die Listenvorlagen durch DatabaseListeTemplateStore in der Tabelle
+ * LISTENVORLAGEN, so dass mehrere Instanzen sie sich teilen können.
+ */
+public interface ListeTemplateStore {
+
+	/**
+	 * Gibt die sortierten Namen zusammen mit der Version der Listenvorlage zurück.
+	 *
+	 * @param  typ
+	 *                Checklistentyp muss ein Template haben.
+	 * @param  gruppe
+	 *                String
+	 * @return        ListeTemplateStand Version 0, wenn es noch keine Listenvorlage gibt.
+	 */
+	ListeTemplateStand getStand(Checklistentyp typ, String gruppe);
+
+	/**
+	 * Gibt die Stände aller Listenvorlagen der Gruppe in einem Durchgang zurück.
+	 *
+	 * @param  gruppe
+	 *                String
+	 * @return        Map mit einem Eintrag je Checklistentyp, der ein Template hat.
+	 */
+	Map<Checklistentyp, ListeTemplateStand> getStaende(String gruppe);
+
+	/**
+	 * Speichert die Namen als Listenvorlage der Gruppe.
+	 *
+	 * @param  typ
+	 *                                   Checklistentyp muss ein Template haben.
+	 * @param  gruppe
+	 *                                   String
+	 * @param  namen
+	 *                                   List
+	 * @param  erwarteteVersion
+	 *                                   long die Version, auf der die Änderung beruht.
+	 * @return                           ListeTemplateStand der neue Stand
+	 * @throws ConcurrentUpdateException
+	 *                                   wenn die Listenvorlage inzwischen eine andere Version hat.
+	 * @throws IOException
+	 */
+	ListeTemplateStand speichern(Checklistentyp typ, String gruppe, List<String> namen, long erwarteteVersion) throws ConcurrentUpdateException, IOException;
+}
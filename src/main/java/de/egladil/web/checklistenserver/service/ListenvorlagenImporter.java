@@ -0,0 +1,86 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.util.Arrays;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.control.ActivateRequestContext;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.egladil.web.checklistenserver.config.AbstractListeTemplate;
+import de.egladil.web.checklistenserver.config.EinkaufslisteTemplate;
+import de.egladil.web.checklistenserver.config.PacklisteTemplate;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * ListenvorlagenImporter übernimmt beim Start die Template-Dateien in die Tabelle LISTENVORLAGEN. Listenvorlagen, die es dort
+ * schon gibt, bleiben unverändert, so dass der Import gefahrlos bei jedem Start und auf mehreren Instanzen laufen kann. Nach der
+ * Umstellung kann er mit template.store.db.import=false abgeschaltet werden.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "template.store", stringValue = "db")
+public class ListenvorlagenImporter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ListenvorlagenImporter.class);
+
+	@Inject
+	@ConfigProperty(name = "template.store.db.import", defaultValue = "true")
+	boolean importAktiv;
+
+	@Inject
+	EinkaufslisteTemplate einkaufslisteTemplate;
+
+	@Inject
+	PacklisteTemplate packlisteTemplate;
+
+	@Inject
+	DatabaseListeTemplateStore listeTemplateStore;
+
+	@ActivateRequestContext
+	void onStart(@Observes final StartupEvent event) {
+
+		if (!importAktiv) {
+
+			return;
+		}
+
+		int anzahl = importieren(Checklistentyp.EINKAUFSLISTE, einkaufslisteTemplate)
+			+ importieren(Checklistentyp.PACKLISTE, packlisteTemplate);
+
+		LOG.info("{} Listenvorlagen aus Dateien importiert", anzahl);
+	}
+
+	private int importieren(final Checklistentyp typ, final AbstractListeTemplate listeTemplate) {
+
+		int anzahl = 0;
+
+		for (String gruppe : listeTemplate.getGruppen()) {
+
+			try {
+
+				if (listeTemplateStore.anlegenFallsNeu(typ, gruppe, Arrays.asList(listeTemplate.getListeTemplate(gruppe)))) {
+
+					anzahl++;
+				} else {
+
+					LOG.debug("Listenvorlage {} für {} gibt es schon", typ, gruppe);
+				}
+			} catch (Exception e) {
+
+				LOG.error("Listenvorlage {} für {} konnte nicht importiert werden: {}", typ, gruppe, e.getMessage(), e);
+			}
+		}
+
+		return anzahl;
+	}
+}
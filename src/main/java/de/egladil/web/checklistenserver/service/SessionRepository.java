@@ -0,0 +1,83 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import de.egladil.web.checklistenserver.domain.UserSession;
+
+/**
+ * SessionRepository ist der Ablageort der UserSessions. Standard ist InMemorySessionRepository. Mit der Build-Property
+ * session.repository=jdbc werden die Sessions durch JdbcSessionRepository in der Datenbank gehalten, so dass sie einen
+ * Neustart überleben und mehrere Instanzen sich die Sessions teilen können.
+ */
+public interface SessionRepository {
+
+	/**
+	 * @param  sessionId
+	 *                   String
+	 * @return           UserSession oder null
+	 */
+	UserSession find(String sessionId);
+
+	/**
+	 * Legt eine neue Session ab.
+	 *
+	 * @param userSession
+	 *                    UserSession
+	 */
+	void save(UserSession userSession);
+
+	/**
+	 * Das expiresAt der Session wurde verlängert. Implementierungen dürfen das verzögert speichern.
+	 *
+	 * @param userSession
+	 *                    UserSession
+	 */
+	void touch(UserSession userSession);
+
+	/**
+	 * Entfernt die Session (logout).
+	 *
+	 * @param  sessionId
+	 *                   String
+	 * @return           die entfernte UserSession oder null, falls sie lokal nicht bekannt war.
+	 */
+	UserSession remove(String sessionId);
+
+	/**
+	 * Entfernt die Session, weil sie lokal abgelaufen ist. Teilen sich mehrere Instanzen die Sessions, kann eine andere sie
+	 * inzwischen verlängert haben. Dann bleibt sie erhalten und wird mit dem aktuellen expiresAt zurückgegeben.
+	 *
+	 * @param  sessionId
+	 *                   String
+	 * @param  now
+	 *                   long Zeitpunkt in Millisekunden seit 1.1.1970
+	 * @return           UserSession, falls sie woanders verlängert wurde, sonst null.
+	 */
+	UserSession expire(String sessionId, long now);
+
+	/**
+	 * Entfernt alle Sessions, deren expiresAt vor dem gegebenen Zeitpunkt liegt.
+	 *
+	 * @param  now
+	 *             long Zeitpunkt in Millisekunden seit 1.1.1970
+	 * @return     int die Anzahl der lokal entfernten Sessions
+	 */
+	int removeExpired(long now);
+
+	/**
+	 * @return int Anzahl der im Speicher gehaltenen Sessions.
+	 */
+	int getAnzahlSessions();
+
+	/**
+	 * @return long Anzahl der Sessions, die aus dem Speicher verdrängt wurden.
+	 */
+	long getAnzahlEvictions();
+
+	/**
+	 * @return long Anzahl der Sessions, die wegen Ablauf entfernt wurden.
+	 */
+	long getAnzahlExpirations();
+}
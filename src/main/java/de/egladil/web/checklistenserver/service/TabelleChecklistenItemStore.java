@@ -0,0 +1,157 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.egladil.web.checklistenserver.dao.IChecklistenpositionDao;
+import de.egladil.web.checklistenserver.domain.Checkliste;
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.Checklistenposition;
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
+import de.egladil.web.checklistenserver.payload.ItemOperation;
+import io.quarkus.arc.properties.IfBuildProperty;
+
+/**
+ * TabelleChecklistenItemStore hält die Items in CHECKLISTEN_ITEMS (src/main/sql/7.2.0_checklisten_items.sql). Geschrieben wird
+ * DATEN nur noch mit Name, Typ usw. und einer leeren Item-Liste. Items, die aus der Zeit vor der Umstellung noch in DATEN
+ * stehen, werden beim Laden durch die aus der Tabelle ersetzt.<br>
+ * <br>
+ * Ein PATCH wird Operation für Operation als Update, Insert oder Delete einer einzelnen Zeile ausgeführt. Die Zähler der
+ * Checkliste kommen danach aus einer Aggregat-Abfrage.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "checkliste.items", stringValue = "tabelle")
+public class TabelleChecklistenItemStore implements ChecklistenItemStore {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TabelleChecklistenItemStore.class);
+
+	@Inject
+	IChecklistenpositionDao checklistenpositionDao;
+
+	@Override
+	public String serialisieren(final ChecklisteDaten daten, final String errmContext) {
+
+		List<ChecklistenItem> items = daten.getItems();
+
+		try {
+
+			daten.setItems(Collections.emptyList());
+			return ChecklisteDatenMapper.serialize(daten, errmContext);
+		} finally {
+
+			daten.setItems(items);
+		}
+	}
+
+	@Override
+	public void itemsGespeichert(final Checkliste checkliste, final List<ChecklistenItem> items) {
+
+		checklistenpositionDao.ersetzen(checkliste.getId(), items);
+	}
+
+	@Override
+	public void itemsLaden(final Checkliste checkliste, final ChecklisteDaten daten) {
+
+		daten.setItems(toItems(checklistenpositionDao.findByCheckliste(checkliste.getId())));
+	}
+
+	@Override
+	public void itemsLaden(final Map<String, ChecklisteDaten> datenNachKuerzel) {
+
+		Map<String, List<Checklistenposition>> positionen = checklistenpositionDao.findByKuerzel(datenNachKuerzel.keySet());
+
+		datenNachKuerzel.forEach((kuerzel, daten) -> daten
+			.setItems(toItems(positionen.getOrDefault(kuerzel, Collections.emptyList()))));
+	}
+
+	@Override
+	public void patchen(final Checkliste checkliste, final ChecklisteDaten daten, final List<ItemOperation> operationen) {
+
+		final Long id = checkliste.getId();
+
+		if (checkliste.getDatenFormat() != Checkliste.DATEN_FORMAT_SANITIZED) {
+
+			// die Zeilen enthalten noch die rohen Namen, die Operationen aber die sanitierten: einmal alle Zeilen neu schreiben.
+			checklistenpositionDao.ersetzen(id, daten.getItems());
+			checkliste.setDaten(serialisieren(daten, "Patchen gescheitert"));
+			checkliste.zaehleItems(daten.getItems());
+			return;
+		}
+
+		for (ItemOperation operation : operationen) {
+
+			// dieselbe Kodierung wie ChecklistePatcher, damit die Namen zu den Zeilen passen
+			switch (operation.getOperation()) {
+
+			case ERLEDIGT:
+				pruefen(checklistenpositionDao.setzeErledigt(id, operation.getName(), operation.isWert()), operation);
+				break;
+
+			case MARKIERT:
+				pruefen(checklistenpositionDao.setzeMarkiert(id, operation.getName(), operation.isWert()), operation);
+				break;
+
+			case KOMMENTIEREN:
+				pruefen(checklistenpositionDao.setzeKommentar(id, operation.getName(),
+					ChecklistePatcher.kodiereKommentar(operation.getKommentar())), operation);
+				break;
+
+			case UMBENENNEN:
+				String neuerName = ChecklistePatcher.kodiereName(operation.getNeuerName());
+
+				if (!neuerName.equals(operation.getName())) {
+
+					pruefen(checklistenpositionDao.umbenennen(id, operation.getName(), neuerName), operation);
+				}
+				break;
+
+			case ENTFERNEN:
+				pruefen(checklistenpositionDao.entfernen(id, operation.getName()), operation);
+				break;
+
+			case HINZUFUEGEN:
+				ChecklistenItem item = ChecklistenItem.fromName(ChecklistePatcher.kodiereName(operation.getName()));
+				item.setOptional(operation.isOptional());
+				item.setKommentar(ChecklistePatcher.kodiereKommentar(operation.getKommentar()));
+				checklistenpositionDao.anhaengen(id, item);
+				break;
+
+			default:
+				throw new ChecklistenRuntimeException("Unbekannte Operation " + operation.getOperation());
+			}
+		}
+
+		checkliste.setDaten(serialisieren(daten, "Patchen gescheitert"));
+		checklistenpositionDao.zaehleItems(checkliste);
+	}
+
+	private void pruefen(final int anzahlZeilen, final ItemOperation operation) {
+
+		if (anzahlZeilen != 1) {
+
+			// ChecklistePatcher hat die Operation gegen denselben Stand geprüft: die Tabelle passt nicht zu den Daten.
+			String msg = "Checkliste: " + operation + " hat " + anzahlZeilen + " Zeilen geändert";
+			LOG.error(msg);
+			throw new ChecklistenRuntimeException(msg);
+		}
+	}
+
+	private static List<ChecklistenItem> toItems(final List<Checklistenposition> positionen) {
+
+		return positionen.stream().map(Checklistenposition::toItem).collect(Collectors.toCollection(ArrayList::new));
+	}
+}
@@ -0,0 +1,115 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import de.egladil.web.checklistenserver.dao.IUserDao;
+import de.egladil.web.checklistenserver.domain.Checklistenuser;
+import de.egladil.web.checklistenserver.domain.UserSession;
+
+/**
+ * UserGruppenCache hält die Gruppe je User-UUID, damit nicht jeder Request USERS lesen muss. Normalerweise trägt schon die
+ * UserSession die Gruppe (gesetzt beim Login). Der Cache wird nur gebraucht, wenn die Session ohne Gruppe kommt, z.B. aus der
+ * Tabelle SESSIONS.<br>
+ * <br>
+ * Beim Login und beim Logout wird der Eintrag des Users verworfen, so dass eine geänderte Gruppe spätestens mit dem nächsten
+ * Login greift.
+ */
+@ApplicationScoped
+public class UserGruppenCache {
+
+	@Inject
+	@ConfigProperty(name = "user.gruppen-cache.max-size", defaultValue = "10000")
+	int maxSize;
+
+	@Inject
+	IUserDao userDao;
+
+	/* accessOrder=true: die Iterationsreihenfolge beginnt mit dem am längsten nicht verwendeten Eintrag. */
+	private final LinkedHashMap<String, String> gruppen = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Gibt die Gruppe des Users der Session zurück und merkt sie sich in der Session.
+	 *
+	 * @param  userSession
+	 *                     UserSession
+	 * @return             String die Gruppe oder null, falls es den User nicht gibt.
+	 */
+	public String getGruppe(final UserSession userSession) {
+
+		if (userSession.getGruppe() == null) {
+
+			userSession.setGruppe(getGruppe(userSession.getUuid()));
+		}
+
+		return userSession.getGruppe();
+	}
+
+	/**
+	 * @param  uuid
+	 *              String die UUID des Users
+	 * @return      String die Gruppe oder null, falls es den User nicht gibt.
+	 */
+	public String getGruppe(final String uuid) {
+
+		synchronized (this) {
+
+			String gruppe = gruppen.get(uuid);
+
+			if (gruppe != null) {
+
+				return gruppe;
+			}
+		}
+
+		Optional<Checklistenuser> optUser = userDao.findByUniqueIdentifier(uuid);
+
+		if (!optUser.isPresent()) {
+
+			return null;
+		}
+
+		String gruppe = optUser.get().getGruppe();
+		put(uuid, gruppe);
+		return gruppe;
+	}
+
+	/**
+	 * Verwirft den Eintrag zum User.
+	 *
+	 * @param uuid
+	 *             String
+	 */
+	public synchronized void invalidate(final String uuid) {
+
+		gruppen.remove(uuid);
+	}
+
+	public synchronized int getAnzahlEintraege() {
+
+		return gruppen.size();
+	}
+
+	private synchronized void put(final String uuid, final String gruppe) {
+
+		gruppen.put(uuid, gruppe);
+
+		Iterator<String> iter = gruppen.values().iterator();
+
+		while (gruppen.size() > maxSize && iter.hasNext()) {
+
+			iter.next();
+			iter.remove();
+		}
+	}
+}
@@ -0,0 +1,148 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.egladil.web.checklistenserver.domain.UserSession;
+
+/**
+ * UserSessionStore hält die UserSessions im Speicher. Die Anzahl ist nach oben begrenzt: ist sie erreicht, wird die am längsten
+ * nicht mehr verwendete Session verdrängt (LRU). Abgelaufene Sessions werden durch evictExpired entfernt, das regelmäßig
+ * aufgerufen werden muss.
+ */
+public class UserSessionStore {
+
+	private final int maxSize;
+
+	/* accessOrder=true: die Iterationsreihenfolge beginnt mit der am längsten nicht verwendeten Session. */
+	private final LinkedHashMap<String, UserSession> sessions = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final AtomicLong anzahlEvictions = new AtomicLong();
+
+	private final AtomicLong anzahlExpirations = new AtomicLong();
+
+	/**
+	 * @param maxSize
+	 *                int maximale Anzahl gleichzeitig gehaltener Sessions. Muss positiv sein.
+	 */
+	public UserSessionStore(final int maxSize) {
+
+		if (maxSize < 1) {
+
+			throw new IllegalArgumentException("maxSize muss positiv sein");
+		}
+
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * @param  sessionId
+	 *                   String
+	 * @return           UserSession oder null
+	 */
+	public synchronized UserSession get(final String sessionId) {
+
+		return sessions.get(sessionId);
+	}
+
+	/**
+	 * Legt die Session ab. Ist die maximale Anzahl überschritten, werden die am längsten nicht verwendeten Sessions verdrängt.
+	 *
+	 * @param userSession
+	 *                    UserSession darf nicht null sein.
+	 */
+	public synchronized void put(final UserSession userSession) {
+
+		sessions.put(userSession.getSessionId(), userSession);
+
+		Iterator<UserSession> iter = sessions.values().iterator();
+
+		while (sessions.size() > maxSize && iter.hasNext()) {
+
+			iter.next();
+			iter.remove();
+			anzahlEvictions.incrementAndGet();
+		}
+	}
+
+	/**
+	 * @param  sessionId
+	 *                   String
+	 * @return           die entfernte UserSession oder null
+	 */
+	public synchronized UserSession remove(final String sessionId) {
+
+		return sessions.remove(sessionId);
+	}
+
+	/**
+	 * Entfernt die Session, weil sie abgelaufen ist.
+	 *
+	 * @param sessionId
+	 *                  String
+	 */
+	public synchronized void expire(final String sessionId) {
+
+		if (sessions.remove(sessionId) != null) {
+
+			anzahlExpirations.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Entfernt alle Sessions, deren expiresAt vor dem gegebenen Zeitpunkt liegt.
+	 *
+	 * @param  now
+	 *             long Zeitpunkt in Millisekunden seit 1.1.1970
+	 * @return     int die Anzahl der entfernten Sessions
+	 */
+	public synchronized int evictExpired(final long now) {
+
+		int anzahl = 0;
+		Iterator<Map.Entry<String, UserSession>> iter = sessions.entrySet().iterator();
+
+		while (iter.hasNext()) {
+
+			if (iter.next().getValue().getExpiresAt() < now) {
+
+				iter.remove();
+				anzahl++;
+			}
+		}
+
+		anzahlExpirations.addAndGet(anzahl);
+		return anzahl;
+	}
+
+	public synchronized int getAnzahlSessions() {
+
+		return sessions.size();
+	}
+
+	/**
+	 * @return long Anzahl der Sessions, die wegen Erreichen von maxSize verdrängt wurden.
+	 */
+	public long getAnzahlEvictions() {
+
+		return anzahlEvictions.get();
+	}
+
+	/**
+	 * @return long Anzahl der Sessions, die wegen Ablauf entfernt wurden.
+	 */
+	public long getAnzahlExpirations() {
+
+		return anzahlExpirations.get();
+	}
+
+	public int getMaxSize() {
+
+		return maxSize;
+	}
+}
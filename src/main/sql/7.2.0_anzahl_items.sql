@@ -0,0 +1,8 @@
+-- Anzahl Items und erledigte Items redundant zu DATEN, damit die Übersicht (GET /checklisten?summary=true) DATEN nicht lesen muss.
+ALTER TABLE CHECKLISTEN ADD COLUMN ANZAHL_ITEMS int NOT NULL DEFAULT 0 AFTER DATEN;
+ALTER TABLE CHECKLISTEN ADD COLUMN ANZAHL_ERLEDIGT int NOT NULL DEFAULT 0 AFTER ANZAHL_ITEMS;
+
+-- Bestand nachziehen. DATEN wird von Jackson ohne Leerzeichen geschrieben, daher reicht das Zählen von "erledigt":true
+UPDATE CHECKLISTEN SET
+	ANZAHL_ITEMS = IFNULL(JSON_LENGTH(DATEN, '$.items'), 0),
+	ANZAHL_ERLEDIGT = (LENGTH(DATEN) - LENGTH(REPLACE(DATEN, '"erledigt":true', ''))) / LENGTH('"erledigt":true');
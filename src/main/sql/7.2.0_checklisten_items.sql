@@ -0,0 +1,40 @@
+-- Tabelle für TabelleChecklistenItemStore (Build-Property checkliste.items=tabelle). Braucht MariaDB >= 10.6 (JSON_TABLE).
+-- Unmittelbar vor dem Deployment mit checkliste.items=tabelle ausführen: was danach noch über DATEN geändert wird, kommt
+-- nicht mehr in die Tabelle.
+-- CHECKLISTE_ID muss denselben Typ haben wie CHECKLISTEN.ID.
+-- NAME und KOMMENTAR stehen für HTML kodiert in der Tabelle, also mit bis zu 5 Zeichen je eingegebenem Zeichen (100 bzw. 4000).
+CREATE TABLE IF NOT EXISTS CHECKLISTEN_ITEMS (
+	ID int(10) unsigned NOT NULL AUTO_INCREMENT,
+	CHECKLISTE_ID int(10) unsigned NOT NULL,
+	POSITION int NOT NULL,
+	NAME varchar(500) COLLATE utf8_bin NOT NULL,
+	MARKIERT tinyint(1) NOT NULL DEFAULT 0,
+	OPTIONAL tinyint(1) NOT NULL DEFAULT 0,
+	ERLEDIGT tinyint(1) NOT NULL DEFAULT 0,
+	KOMMENTAR text DEFAULT NULL,
+	PRIMARY KEY (ID),
+	-- utf8_bin: "Milch" und "milch" sind zwei Items. Kein UNIQUE, weil DATEN alter Checklisten Dubletten enthalten kann.
+	KEY IDX_CHECKLISTEN_ITEMS_NAME (CHECKLISTE_ID, NAME),
+	KEY IDX_CHECKLISTEN_ITEMS_ERLEDIGT (CHECKLISTE_ID, ERLEDIGT),
+	CONSTRAINT FK_CHECKLISTEN_ITEMS_CHECKLISTE FOREIGN KEY (CHECKLISTE_ID) REFERENCES CHECKLISTEN (ID) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- falls die Tabelle schon mit der Default-Collation oder den kürzeren Spalten angelegt wurde
+ALTER TABLE CHECKLISTEN_ITEMS MODIFY NAME varchar(500) COLLATE utf8_bin NOT NULL, MODIFY KOMMENTAR text DEFAULT NULL;
+
+-- Items aus DATEN in die Tabelle übernehmen. Die Reihenfolge bleibt über POSITION erhalten.
+INSERT INTO CHECKLISTEN_ITEMS (CHECKLISTE_ID, POSITION, NAME, MARKIERT, OPTIONAL, ERLEDIGT, KOMMENTAR)
+SELECT c.ID, j.POS, j.NAME, IF(j.MARKIERT = 'true', 1, 0), IF(j.OPTIONAL = 'true', 1, 0), IF(j.ERLEDIGT = 'true', 1, 0), j.KOMMENTAR
+FROM CHECKLISTEN c,
+	JSON_TABLE(c.DATEN, '$.items[*]' COLUMNS (
+		POS FOR ORDINALITY,
+		NAME varchar(500) PATH '$.name',
+		MARKIERT varchar(5) PATH '$.markiert',
+		OPTIONAL varchar(5) PATH '$.optional',
+		ERLEDIGT varchar(5) PATH '$.erledigt',
+		KOMMENTAR text PATH '$.kommentar'
+	)) j
+WHERE NOT EXISTS (SELECT 1 FROM CHECKLISTEN_ITEMS i WHERE i.CHECKLISTE_ID = c.ID);
+
+-- DATEN bleibt unverändert: bis zum Deployment mit checkliste.items=tabelle und bei einem Rückweg zu checkliste.items=daten
+-- kommen die Items weiter aus DATEN. Leeren erst nach der Umstellung mit 7.2.0_checklisten_items_daten_leeren.sql.
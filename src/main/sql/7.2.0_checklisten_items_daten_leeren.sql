@@ -0,0 +1,5 @@
+-- Optional und nicht umkehrbar: entfernt die Items aus DATEN, nachdem sie mit 7.2.0_checklisten_items.sql nach
+-- CHECKLISTEN_ITEMS übernommen wurden. Erst ausführen, wenn alle Instanzen mit checkliste.items=tabelle laufen und kein
+-- Rückweg zu checkliste.items=daten mehr nötig ist. TabelleChecklistenItemStore liest die Items ohnehin nur aus der Tabelle,
+-- das Skript spart lediglich Platz.
+UPDATE CHECKLISTEN SET DATEN = JSON_SET(DATEN, '$.items', JSON_ARRAY()) WHERE JSON_LENGTH(DATEN, '$.items') > 0;
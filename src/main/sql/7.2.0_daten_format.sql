@@ -0,0 +1,3 @@
+-- Format von DATEN: 0 = roh (Bestand, wird beim Lesen für HTML kodiert), 1 = beim Speichern sanitiert (wird unverändert ausgeliefert).
+-- Der Bestand bleibt 0 und wird mit der nächsten Änderung der Checkliste auf 1 umgestellt.
+ALTER TABLE CHECKLISTEN ADD COLUMN DATEN_FORMAT int NOT NULL DEFAULT 0 AFTER DATEN;
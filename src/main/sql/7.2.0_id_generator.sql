@@ -0,0 +1,14 @@
+-- Tabelle, aus der die Entities ihre Ids in Blöcken zu 50 holen (Checklistenentity.ID_GENERATOR_TABLE).
+-- Die AUTO_INCREMENT-Spalten bleiben, Hibernate schreibt die Id nur selbst.
+CREATE TABLE IF NOT EXISTS ID_GENERATOR (
+	SEQ_NAME varchar(50) NOT NULL,
+	NEXT_VAL bigint NOT NULL,
+	PRIMARY KEY (SEQ_NAME)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- Startwerte mit Abstand zur höchsten vergebenen Id: der pooled-Optimizer vergibt bis zu 50 Ids unterhalb von NEXT_VAL.
+-- Hier nur die Pflicht-Tabellen. CHECKLISTEN_ITEMS und LISTENVORLAGEN gibt es nur mit der jeweiligen Build-Property, ihre
+-- Startwerte setzen 7.2.0_id_generator_checklisten_items.sql und 7.2.0_id_generator_listenvorlagen.sql.
+INSERT IGNORE INTO ID_GENERATOR (SEQ_NAME, NEXT_VAL) SELECT 'CHECKLISTEN', COALESCE(MAX(ID), 0) + 100 FROM CHECKLISTEN;
+INSERT IGNORE INTO ID_GENERATOR (SEQ_NAME, NEXT_VAL) SELECT 'USERS', COALESCE(MAX(ID), 0) + 100 FROM USERS;
+INSERT IGNORE INTO ID_GENERATOR (SEQ_NAME, NEXT_VAL) SELECT 'PACEMAKERS', COALESCE(MAX(ID), 0) + 100 FROM PACEMAKERS;
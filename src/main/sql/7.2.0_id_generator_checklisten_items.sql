@@ -0,0 +1,3 @@
+-- Startwert der Ids für CHECKLISTEN_ITEMS (Build-Property checkliste.items=tabelle).
+-- Nach 7.2.0_id_generator.sql und 7.2.0_checklisten_items.sql ausführen.
+INSERT IGNORE INTO ID_GENERATOR (SEQ_NAME, NEXT_VAL) SELECT 'CHECKLISTEN_ITEMS', COALESCE(MAX(ID), 0) + 100 FROM CHECKLISTEN_ITEMS;
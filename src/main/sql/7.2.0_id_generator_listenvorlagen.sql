@@ -0,0 +1,3 @@
+-- Startwert der Ids für LISTENVORLAGEN (Build-Property template.store=db).
+-- Nach 7.2.0_id_generator.sql und 7.2.0_listenvorlagen.sql ausführen.
+INSERT IGNORE INTO ID_GENERATOR (SEQ_NAME, NEXT_VAL) SELECT 'LISTENVORLAGEN', COALESCE(MAX(ID), 0) + 100 FROM LISTENVORLAGEN;
@@ -0,0 +1,11 @@
+-- Tabelle für DatabaseListeTemplateStore (Build-Property template.store=db). NAMEN enthält eine Zeile je Name.
+-- VERSION wird bei jeder Änderung um 1 erhöht und dient der Erkennung konkurrierender Änderungen.
+CREATE TABLE IF NOT EXISTS LISTENVORLAGEN (
+	ID int(10) unsigned NOT NULL AUTO_INCREMENT,
+	GRUPPE varchar(36) NOT NULL,
+	TYP varchar(20) NOT NULL,
+	NAMEN mediumtext NOT NULL,
+	VERSION bigint NOT NULL DEFAULT 1,
+	PRIMARY KEY (ID),
+	UNIQUE KEY UK_LISTENVORLAGEN_GRUPPE_TYP (GRUPPE, TYP)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
@@ -0,0 +1,10 @@
+-- Tabelle für JdbcSessionRepository (Build-Property session.repository=jdbc)
+CREATE TABLE IF NOT EXISTS SESSIONS (
+	SESSION_ID varchar(255) NOT NULL,
+	UUID varchar(36) NOT NULL,
+	ID_REFERENCE varchar(255) DEFAULT NULL,
+	ROLES varchar(255) DEFAULT NULL,
+	EXPIRES_AT bigint NOT NULL,
+	PRIMARY KEY (SESSION_ID),
+	KEY IDX_SESSIONS_EXPIRES_AT (EXPIRES_AT)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
@@ -0,0 +1,157 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.egladil.web.checklistenserver.error.ConcurrentUpdateException;
+
+/**
+ * AbstractListeTemplateTest
+ */
+public class AbstractListeTemplateTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void getSortierteNamenLiestNachInvalidateNeu() throws IOException {
+
+		// Arrange
+		TestTemplate template = new TestTemplate(dir);
+		template.startWatching();
+		Path datei = dir.resolve("gruppe_test.txt");
+		Files.write(datei, Arrays.asList("zwei", "eins", "", "eins"), StandardCharsets.UTF_8);
+
+		try {
+
+			assertEquals(Arrays.asList("eins", "zwei"), template.getSortierteNamen("gruppe"));
+			Files.write(datei, Arrays.asList("drei"), StandardCharsets.UTF_8);
+
+			// Act
+			template.invalidate("gruppe");
+
+			// Assert
+			assertEquals(Arrays.asList("drei"), template.getSortierteNamen("gruppe"));
+		} finally {
+
+			template.stopWatching();
+		}
+	}
+
+	@Test
+	void getSortierteNamenOhneDatei() throws IOException {
+
+		// Arrange
+		TestTemplate template = new TestTemplate(dir);
+		template.startWatching();
+
+		try {
+
+			// Act + Assert
+			assertEquals(0, template.getSortierteNamen("unbekannt").size());
+		} finally {
+
+			template.stopWatching();
+		}
+	}
+
+	@Test
+	void speichernErhoehtVersionUndPrueftSie() throws IOException {
+
+		// Arrange
+		TestTemplate template = new TestTemplate(dir);
+		template.startWatching();
+
+		try {
+
+			ListeTemplateStand erster = template.speichern("gruppe", Arrays.asList("zwei", "eins"), 0);
+
+			// Act
+			ListeTemplateStand zweiter = template.speichern("gruppe", Arrays.asList("drei"), erster.getVersion());
+
+			// Assert
+			assertTrue(zweiter.getVersion() > erster.getVersion());
+			assertEquals(Arrays.asList("drei"), template.getSortierteNamen("gruppe"));
+			assertEquals(Arrays.asList("drei"), Files.readAllLines(dir.resolve("gruppe_test.txt"), StandardCharsets.UTF_8));
+			assertThrows(ConcurrentUpdateException.class,
+				() -> template.speichern("gruppe", Arrays.asList("vier"), erster.getVersion()));
+			assertEquals(1, dir.toFile().list().length);
+		} finally {
+
+			template.stopWatching();
+		}
+	}
+
+	@Test
+	void speichernBehaeltDieRechteDerDatei() throws IOException {
+
+		assumeTrue(Files.getFileStore(dir).supportsFileAttributeView(PosixFileAttributeView.class));
+
+		// Arrange
+		TestTemplate template = new TestTemplate(dir);
+		ListeTemplateStand erster = template.speichern("gruppe", Arrays.asList("eins"), 0);
+		Path datei = dir.resolve("gruppe_test.txt");
+		assertEquals(PosixFilePermissions.fromString("rw-r--r--"), Files.getPosixFilePermissions(datei));
+		Files.setPosixFilePermissions(datei, PosixFilePermissions.fromString("rw-rw-r--"));
+
+		// Act
+		template.speichern("gruppe", Arrays.asList("zwei"), erster.getVersion());
+
+		// Assert
+		assertEquals(PosixFilePermissions.fromString("rw-rw-r--"), Files.getPosixFilePermissions(datei));
+	}
+
+	@Test
+	void setzeNeueVersionIstGroesserAlsDieAlte() throws IOException {
+
+		// Arrange
+		Path datei = Files.createFile(dir.resolve("version.txt"));
+		long alteVersion = System.currentTimeMillis() + 60_000;
+
+		// Act
+		long neueVersion = AbstractListeTemplate.setzeNeueVersion(datei, alteVersion);
+
+		// Assert
+		assertTrue(neueVersion > alteVersion);
+		assertEquals(neueVersion, Files.getLastModifiedTime(datei).toMillis());
+	}
+
+	private static class TestTemplate extends AbstractListeTemplate {
+
+		private final Path dir;
+
+		TestTemplate(final Path dir) {
+
+			this.dir = dir;
+		}
+
+		@Override
+		protected String getPathTemplateDir() {
+
+			return dir.toString();
+		}
+
+		@Override
+		protected String getSuffixFilename() {
+
+			return "_test.txt";
+		}
+	}
+}
@@ -0,0 +1,92 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.dao.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * ChecklistenpositionDaoTest
+ */
+public class ChecklistenpositionDaoTest {
+
+	private EntityManager em;
+
+	private TypedQuery<Object[]> select;
+
+	private Query aenderung;
+
+	private ChecklistenpositionDao dao;
+
+	@SuppressWarnings("unchecked")
+	@BeforeEach
+	void setUp() {
+
+		em = Mockito.mock(EntityManager.class);
+		select = Mockito.mock(TypedQuery.class);
+		aenderung = Mockito.mock(Query.class);
+
+		Mockito.when(em.createQuery(Mockito.startsWith("select p.id, p.name"), Mockito.eq(Object[].class))).thenReturn(select);
+		Mockito.when(select.setParameter(Mockito.anyString(), Mockito.any())).thenReturn(select);
+		Mockito.when(em.createQuery(Mockito.anyString())).thenReturn(aenderung);
+		Mockito.when(aenderung.setParameter(Mockito.anyString(), Mockito.any())).thenReturn(aenderung);
+		Mockito.when(aenderung.executeUpdate()).thenReturn(1);
+
+		dao = new ChecklistenpositionDao(em);
+	}
+
+	@Test
+	void setzeErledigtTrifftNurDenExaktGleichenNamen() {
+
+		// Arrange: die Collation der DB liefert beide Zeilen
+		Mockito.when(select.getResultList()).thenReturn(Arrays.asList(new Object[] { 1L, "Milch" }, new Object[] { 2L, "milch" }));
+
+		// Act
+		int anzahl = dao.setzeErledigt(7L, "milch", true);
+
+		// Assert
+		assertEquals(1, anzahl);
+		Mockito.verify(aenderung).setParameter("ids", Collections.singletonList(2L));
+	}
+
+	@Test
+	void entfernenTrifftNurDenExaktGleichenNamen() {
+
+		// Arrange
+		Mockito.when(select.getResultList()).thenReturn(Arrays.asList(new Object[] { 1L, "Milch" }, new Object[] { 2L, "milch" }));
+
+		// Act
+		int anzahl = dao.entfernen(7L, "Milch");
+
+		// Assert
+		assertEquals(1, anzahl);
+		Mockito.verify(em).createQuery("delete from Checklistenposition p where p.id in :ids");
+		Mockito.verify(aenderung).setParameter("ids", Collections.singletonList(1L));
+	}
+
+	@Test
+	void umbenennenOhneExaktenTrefferAendertNichts() {
+
+		// Arrange
+		Mockito.when(select.getResultList()).thenReturn(Collections.singletonList(new Object[] { 1L, "Milch" }));
+
+		// Act
+		int anzahl = dao.umbenennen(7L, "MILCH", "Sahne");
+
+		// Assert
+		assertEquals(0, anzahl);
+		Mockito.verify(em, Mockito.never()).createQuery(Mockito.anyString());
+	}
+}
@@ -0,0 +1,81 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.endpoints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import javax.ws.rs.core.EntityTag;
+
+import org.junit.jupiter.api.Test;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteTemplate;
+import de.egladil.web.checklistenserver.domain.ChecklisteUebersicht;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+
+/**
+ * ChecklistenEntityTagsTest
+ */
+public class ChecklistenEntityTagsTest {
+
+	@Test
+	void fuerSammlungHaengtNichtVonDerReihenfolgeAb() {
+
+		// Act
+		EntityTag tag1 = ChecklistenEntityTags.fuerSammlung(Arrays.asList(create("a", 3), create("b", 7)), false);
+		EntityTag tag2 = ChecklistenEntityTags.fuerSammlung(Arrays.asList(create("b", 7), create("a", 3)), false);
+
+		// Assert
+		assertEquals(tag1, tag2);
+	}
+
+	@Test
+	void fuerSammlungAendertSichAuchUnterhalbDerMaximalenVersion() {
+
+		// Act
+		EntityTag vorher = ChecklistenEntityTags.fuerSammlung(Arrays.asList(create("a", 3), create("b", 7)), false);
+		EntityTag nachher = ChecklistenEntityTags.fuerSammlung(Arrays.asList(create("a", 4), create("b", 7)), false);
+
+		// Assert
+		assertNotEquals(vorher, nachher);
+	}
+
+	@Test
+	void fuerSammlungUnterscheidetSummary() {
+
+		// Act
+		EntityTag voll = ChecklistenEntityTags.fuerSammlung(Arrays.asList(create("a", 3)), false);
+		EntityTag summary = ChecklistenEntityTags.fuerSammlung(Arrays.asList(create("a", 3)), true);
+
+		// Assert
+		assertNotEquals(voll, summary);
+	}
+
+	@Test
+	void fuerTemplatesAendertSichMitReadTimeUndGruppe() {
+
+		// Arrange
+		ChecklisteTemplate vorher = ChecklisteTemplate.create(Checklistentyp.PACKLISTE, new ArrayList<>(), 1000L);
+		ChecklisteTemplate nachher = ChecklisteTemplate.create(Checklistentyp.PACKLISTE, new ArrayList<>(), 2000L);
+
+		// Act
+		EntityTag tag = ChecklistenEntityTags.fuerTemplates("gruppe", Arrays.asList(vorher));
+		EntityTag geaendert = ChecklistenEntityTags.fuerTemplates("gruppe", Arrays.asList(nachher));
+		EntityTag andereGruppe = ChecklistenEntityTags.fuerTemplates("andere", Arrays.asList(vorher));
+
+		// Assert
+		assertEquals(tag, ChecklistenEntityTags.fuerTemplates("gruppe", Arrays.asList(vorher)));
+		assertNotEquals(tag, geaendert);
+		assertNotEquals(tag, andereGruppe);
+	}
+
+	private ChecklisteUebersicht create(final String kuerzel, final int version) {
+
+		return new ChecklisteUebersicht(kuerzel, "Liste " + kuerzel, Checklistentyp.EINKAUFSLISTE, "gruppe", version, 0, 0);
+	}
+}
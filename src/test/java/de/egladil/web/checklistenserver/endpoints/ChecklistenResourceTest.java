@@ -0,0 +1,115 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.endpoints;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+import de.egladil.web.checklistenserver.domain.UserSession;
+import de.egladil.web.checklistenserver.service.ChecklistenService;
+
+/**
+ * ChecklistenResourceTest
+ */
+public class ChecklistenResourceTest {
+
+	private ChecklistenService checklistenService;
+
+	private ChecklistenResource resource;
+
+	@BeforeEach
+	void setUp() {
+
+		checklistenService = Mockito.mock(ChecklistenService.class);
+		SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+		Mockito.when(securityContext.getUserPrincipal()).thenReturn(UserSession.create("uuid", "sid", "STANDARD", "ref"));
+
+		resource = new ChecklistenResource();
+		resource.checklistenService = checklistenService;
+		resource.securityContext = securityContext;
+	}
+
+	@Test
+	void checklistenAendernLeererBatch() {
+
+		// Act
+		Response response = resource.checklistenAendern(Collections.emptyList());
+
+		// Assert
+		assertEquals(400, response.getStatus());
+		Mockito.verifyNoInteractions(checklistenService);
+	}
+
+	@Test
+	void checklistenAendernZuGrosserBatch() {
+
+		// Arrange
+		List<ChecklisteDaten> datenliste = new ArrayList<>();
+
+		for (int i = 0; i < 101; i++) {
+
+			datenliste.add(daten("k" + i));
+		}
+
+		// Act
+		Response response = resource.checklistenAendern(datenliste);
+
+		// Assert
+		assertEquals(400, response.getStatus());
+		Mockito.verifyNoInteractions(checklistenService);
+	}
+
+	@Test
+	void checklistenAendernKuerzelDoppelt() {
+
+		// Act
+		Response response = resource.checklistenAendern(Arrays.asList(daten("a"), daten("b"), daten("a")));
+
+		// Assert
+		assertEquals(412, response.getStatus());
+		Mockito.verifyNoInteractions(checklistenService);
+	}
+
+	@Test
+	void checklistenAendernMaximalerBatch() {
+
+		// Arrange
+		List<ChecklisteDaten> datenliste = new ArrayList<>();
+
+		for (int i = 0; i < 100; i++) {
+
+			datenliste.add(daten("k" + i));
+		}
+
+		// Act
+		Response response = resource.checklistenAendern(datenliste);
+
+		// Assert
+		assertEquals(200, response.getStatus());
+		Mockito.verify(checklistenService).changeChecklisten(Mockito.eq(datenliste), Mockito.any(UserSession.class));
+	}
+
+	private ChecklisteDaten daten(final String kuerzel) {
+
+		ChecklisteDaten result = new ChecklisteDaten();
+		result.setKuerzel(kuerzel);
+		result.setName("Liste " + kuerzel);
+		result.setTyp(Checklistentyp.EINKAUFSLISTE);
+		return result;
+	}
+}
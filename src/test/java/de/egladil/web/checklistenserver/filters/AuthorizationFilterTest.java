@@ -0,0 +1,30 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.filters;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * AuthorizationFilterTest
+ */
+public class AuthorizationFilterTest {
+
+	@Test
+	void needsSessionIgnoriertGrossUndKleinschreibung() {
+
+		// Assert
+		assertTrue(AuthorizationFilter.needsSession("/checklisten"));
+		assertTrue(AuthorizationFilter.needsSession("/Checklisten/checkliste/abc"));
+		assertTrue(AuthorizationFilter.needsSession("/TEMPLATES"));
+		assertTrue(AuthorizationFilter.needsSession("/signup/user"));
+		assertFalse(AuthorizationFilter.needsSession("/version"));
+		assertFalse(AuthorizationFilter.needsSession("/session/login"));
+		assertFalse(AuthorizationFilter.needsSession("/check"));
+		assertFalse(AuthorizationFilter.needsSession(""));
+	}
+}
@@ -0,0 +1,35 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * AnfragezeitenTest
+ */
+public class AnfragezeitenTest {
+
+	@Test
+	void summiertJeNameUndErfasstOhneMessungNichts() {
+
+		// Arrange
+		Anfragezeiten.erfassen("ohneMessung", 1_000_000);
+		Anfragezeiten.starten();
+
+		// Act
+		Anfragezeiten.erfassen("ChecklisteDao.findByGruppe", 1_000_000);
+		Anfragezeiten.erfassen("json.deserialisieren", 250_000);
+		Anfragezeiten.erfassen("ChecklisteDao.findByGruppe", 500_000);
+		Anfragezeiten anfragezeiten = Anfragezeiten.beenden();
+
+		// Assert
+		assertEquals("ChecklisteDao.findByGruppe;dur=1.50;desc=\"2x\", json.deserialisieren;dur=0.25;desc=\"1x\", total;dur=3.00",
+			anfragezeiten.toServerTiming(3_000_000));
+		assertNull(Anfragezeiten.beenden());
+	}
+}
@@ -0,0 +1,41 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.sanitize;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteTemplate;
+import de.egladil.web.checklistenserver.domain.ChecklisteTemplateItem;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+
+/**
+ * ChecklisteTemplateSanitizerTest
+ */
+public class ChecklisteTemplateSanitizerTest {
+
+	@Test
+	void testBehaeltReadTimeUndEntferntDubletten() {
+
+		// Arrange
+		ChecklisteTemplate template = ChecklisteTemplate.create(Checklistentyp.PACKLISTE,
+			Arrays.asList(ChecklisteTemplateItem.create("Salz & Pfeffer", Checklistentyp.PACKLISTE),
+				ChecklisteTemplateItem.create("Zelt", Checklistentyp.PACKLISTE),
+				ChecklisteTemplateItem.create("Salz & Pfeffer", Checklistentyp.PACKLISTE)),
+			4711L);
+
+		// Act
+		ChecklisteTemplate sanitized = new ChecklisteTemplateSanitizer().apply(template);
+
+		// Assert
+		assertEquals(4711L, sanitized.getReadTime());
+		assertEquals(2, sanitized.getItems().size());
+		assertEquals("Salz &amp; Pfeffer", sanitized.getItems().get(0).getName());
+		assertEquals("Zelt", sanitized.getItems().get(1).getName());
+	}
+}
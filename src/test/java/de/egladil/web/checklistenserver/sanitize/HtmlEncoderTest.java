@@ -0,0 +1,59 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.sanitize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.owasp.encoder.Encode;
+
+/**
+ * HtmlEncoderTest
+ */
+public class HtmlEncoderTest {
+
+	@Test
+	void testSchnellerWegGleichtEncode() {
+
+		for (char c = 0; c < Character.MAX_VALUE; c++) {
+
+			if (HtmlEncoder.istUnveraendert(c)) {
+
+				// Arrange
+				String input = "a" + c + "b";
+
+				// Act + Assert
+				assertEquals("Zeichen " + (int) c, Encode.forHtml(input), input);
+			}
+		}
+	}
+
+	@Test
+	void testGibtUnveraendertenStringZurueck() {
+
+		// Arrange
+		String input = "Käse, Brötchen (groß) - 2 Stück";
+
+		// Act
+		String result = HtmlEncoder.forHtml(input);
+
+		// Assert
+		assertSame(input, result);
+	}
+
+	@Test
+	void testKodiertWieEncode() {
+
+		// Arrange
+		String input = "Salz & <Pfeffer>\n\"Öl\"";
+
+		// Act
+		String result = HtmlEncoder.forHtml(input);
+
+		// Assert
+		assertEquals(Encode.forHtml(input), result);
+	}
+}
@@ -0,0 +1,115 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+
+/**
+ * ChecklisteDatenCacheTest
+ */
+public class ChecklisteDatenCacheTest {
+
+	@Test
+	void getLiefertNurDieGespeicherteVersion() {
+
+		// Arrange
+		ChecklisteDatenCache cache = createCache(10, 100000);
+		cache.put("eins", 3, createDaten("eins", 2));
+
+		// Act
+		ChecklisteDaten treffer = cache.get("eins", 3);
+		ChecklisteDaten veraltet = cache.get("eins", 4);
+
+		// Assert
+		assertNotNull(treffer);
+		assertEquals(2, treffer.getItems().size());
+		assertNull(veraltet);
+		assertEquals(1, cache.getAnzahlHits());
+		assertEquals(1, cache.getAnzahlMisses());
+	}
+
+	@Test
+	void getLiefertKopie() {
+
+		// Arrange
+		ChecklisteDatenCache cache = createCache(10, 100000);
+		ChecklisteDaten daten = createDaten("eins", 1);
+		cache.put("eins", 0, daten);
+
+		// Act
+		ChecklisteDaten treffer = cache.get("eins", 0);
+		treffer.getItems().get(0).setName("&lt;geändert&gt;");
+
+		// Assert
+		assertNotSame(daten, treffer);
+		assertEquals("item-0", daten.getItems().get(0).getName());
+		assertEquals("item-0", cache.get("eins", 0).getItems().get(0).getName());
+	}
+
+	@Test
+	void putVerdraengtBeiZuGrossemGewicht() {
+
+		// Arrange
+		ChecklisteDaten daten = createDaten("eins", 10);
+		long gewicht = ChecklisteDatenCache.schaetzeGewicht(daten);
+		ChecklisteDatenCache cache = createCache(10, 2 * gewicht);
+		cache.put("eins", 0, daten);
+		cache.put("zwei", 0, createDaten("zwei", 10));
+
+		// Act
+		cache.put("drei", 0, createDaten("drei", 10));
+
+		// Assert
+		assertEquals(2, cache.getAnzahlEintraege());
+		assertEquals(1, cache.getAnzahlEvictions());
+		assertNull(cache.get("eins", 0));
+		assertNotNull(cache.get("drei", 0));
+	}
+
+	@Test
+	void invalidateEntferntEintrag() {
+
+		// Arrange
+		ChecklisteDatenCache cache = createCache(10, 100000);
+		cache.put("eins", 0, createDaten("eins", 3));
+
+		// Act
+		cache.invalidate("eins");
+
+		// Assert
+		assertNull(cache.get("eins", 0));
+		assertEquals(0, cache.getGewicht());
+	}
+
+	private ChecklisteDatenCache createCache(final int maxSize, final long maxGewicht) {
+
+		ChecklisteDatenCache result = new ChecklisteDatenCache();
+		result.maxSize = maxSize;
+		result.maxGewicht = maxGewicht;
+		return result;
+	}
+
+	private ChecklisteDaten createDaten(final String kuerzel, final int anzahlItems) {
+
+		ChecklisteDaten result = new ChecklisteDaten();
+		result.setKuerzel(kuerzel);
+		result.setName("Liste " + kuerzel);
+
+		for (int i = 0; i < anzahlItems; i++) {
+
+			result.getItems().add(ChecklistenItem.fromName("item-" + i));
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,128 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.ws.rs.BadRequestException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+import de.egladil.web.checklistenserver.error.ConcurrentUpdateException;
+import de.egladil.web.checklistenserver.payload.ChecklistePatchErgebnis;
+import de.egladil.web.checklistenserver.payload.ItemOperation;
+import de.egladil.web.checklistenserver.payload.ItemOperationstyp;
+
+/**
+ * ChecklistePatcherTest
+ */
+public class ChecklistePatcherTest {
+
+	@Test
+	void testAendertNurBetroffeneItems() {
+
+		// Arrange
+		ChecklisteDaten daten = createDaten("Brot", "Milch", "Salz &amp; Pfeffer");
+
+		ItemOperation erledigt = ItemOperation.create(ItemOperationstyp.ERLEDIGT, "Milch");
+		erledigt.setWert(true);
+		ItemOperation umbenennen = ItemOperation.create(ItemOperationstyp.UMBENENNEN, "Salz &amp; Pfeffer");
+		umbenennen.setNeuerName("Salz & Zucker");
+		ItemOperation entfernen = ItemOperation.create(ItemOperationstyp.ENTFERNEN, "Brot");
+		ItemOperation hinzufuegen = ItemOperation.create(ItemOperationstyp.HINZUFUEGEN, "<Eier>");
+
+		// Act
+		ChecklistePatchErgebnis ergebnis = ChecklistePatcher.anwenden(daten,
+			Arrays.asList(erledigt, umbenennen, entfernen, hinzufuegen));
+
+		// Assert
+		assertEquals(3, daten.getItems().size());
+		assertEquals("Milch", daten.getItems().get(0).getName());
+		assertTrue(daten.getItems().get(0).isErledigt());
+		assertEquals("Salz &amp; Zucker", daten.getItems().get(1).getName());
+		assertEquals("&lt;Eier&gt;", daten.getItems().get(2).getName());
+
+		assertEquals(3, ergebnis.getGeaendert().size());
+		assertEquals(Arrays.asList("Salz &amp; Pfeffer", "Brot"), ergebnis.getEntfernt());
+		assertEquals(3, ergebnis.getAnzahlItems());
+		assertEquals(1, ergebnis.getAnzahlErledigt());
+	}
+
+	@Test
+	void testUnbekanntesItem() {
+
+		// Arrange
+		ChecklisteDaten daten = createDaten("Brot");
+		ItemOperation operation = ItemOperation.create(ItemOperationstyp.MARKIERT, "Butter");
+
+		// Act + Assert
+		assertThrows(ConcurrentUpdateException.class, () -> ChecklistePatcher.anwenden(daten, Arrays.asList(operation)));
+		assertFalse(daten.getItems().get(0).isMarkiert());
+	}
+
+	@Test
+	void testLangerKodierterNameKannGeaendertWerden() {
+
+		// Arrange: 100 Zeichen Eingabe, kodiert 500
+		String kodiert = StringUtils.repeat("&amp;", 100);
+		ChecklisteDaten daten = createDaten(kodiert);
+		ItemOperation operation = ItemOperation.create(ItemOperationstyp.ERLEDIGT, kodiert);
+		operation.setWert(true);
+
+		// Act
+		ChecklistePatcher.anwenden(daten, Arrays.asList(operation));
+
+		// Assert
+		assertTrue(daten.getItems().get(0).isErledigt());
+	}
+
+	@Test
+	void testNeuerNameZuLang() {
+
+		// Arrange
+		ChecklisteDaten daten = createDaten("Brot");
+		ItemOperation operation = ItemOperation.create(ItemOperationstyp.HINZUFUEGEN, StringUtils.repeat("x", 101));
+
+		// Act + Assert
+		assertThrows(BadRequestException.class, () -> ChecklistePatcher.anwenden(daten, Arrays.asList(operation)));
+		assertEquals(1, daten.getItems().size());
+	}
+
+	@Test
+	void testUmbenennenOhneNeuenNamen() {
+
+		// Arrange
+		ChecklisteDaten daten = createDaten("Brot");
+		ItemOperation operation = ItemOperation.create(ItemOperationstyp.UMBENENNEN, "Brot");
+
+		// Act + Assert
+		assertThrows(BadRequestException.class, () -> ChecklistePatcher.anwenden(daten, Arrays.asList(operation)));
+	}
+
+	private ChecklisteDaten createDaten(final String... namen) {
+
+		List<ChecklistenItem> items = new ArrayList<>();
+
+		for (String name : namen) {
+
+			items.add(ChecklistenItem.fromName(name));
+		}
+
+		ChecklisteDaten daten = new ChecklisteDaten();
+		daten.setItems(items);
+		daten.setSanitized(true);
+		return daten;
+	}
+}
@@ -0,0 +1,131 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import de.egladil.web.checklistenserver.dao.impl.ChecklisteDao;
+import de.egladil.web.checklistenserver.domain.Checkliste;
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+import de.egladil.web.checklistenserver.domain.UserSession;
+import de.egladil.web.checklistenserver.error.AuthException;
+import de.egladil.web.checklistenserver.payload.ChecklisteSpeicherergebnis;
+import de.egladil.web.checklistenserver.payload.ChecklisteSpeicherergebnis.Status;
+
+/**
+ * ChecklistenServiceTest
+ */
+public class ChecklistenServiceTest {
+
+	private static final String GRUPPE = "gruppe";
+
+	private ChecklisteDao checklisteDao;
+
+	private ChecklistenItemStore checklistenItemStore;
+
+	private ChecklistenService service;
+
+	private UserSession userSession;
+
+	@BeforeEach
+	void setUp() {
+
+		checklisteDao = Mockito.mock(ChecklisteDao.class);
+		checklistenItemStore = Mockito.mock(ChecklistenItemStore.class);
+		userSession = UserSession.create("uuid", "sid", "STANDARD", "ref");
+
+		UserGruppenCache userGruppenCache = Mockito.mock(UserGruppenCache.class);
+		Mockito.when(userGruppenCache.getGruppe(userSession)).thenReturn(GRUPPE);
+		Mockito.when(checklistenItemStore.serialisieren(Mockito.any(), Mockito.anyString())).thenReturn("{}");
+
+		service = new ChecklistenService();
+		service.checklisteDao = checklisteDao;
+		service.userGruppenCache = userGruppenCache;
+		service.checklistenItemStore = checklistenItemStore;
+		service.checklisteDatenCache = Mockito.mock(ChecklisteDatenCache.class);
+	}
+
+	@Test
+	void changeChecklistenUnbekanntesKuerzel() {
+
+		// Arrange
+		Mockito.when(checklisteDao.findByKuerzel(Mockito.anyCollection())).thenReturn(Arrays.asList());
+
+		// Act
+		List<ChecklisteSpeicherergebnis> ergebnisse = service.changeChecklisten(Arrays.asList(daten("a", 0)), userSession);
+
+		// Assert
+		assertEquals(1, ergebnisse.size());
+		assertEquals(Status.NICHT_GEFUNDEN, ergebnisse.get(0).getStatus());
+		assertNull(ergebnisse.get(0).getDaten());
+	}
+
+	@Test
+	void changeChecklistenKonfliktLiefertAktuelleDatenUndSpeichertDieUebrigen() {
+
+		// Arrange: a hat inzwischen Version 3, b ist aktuell
+		Checkliste veraltet = Mockito.mock(Checkliste.class);
+		Mockito.when(veraltet.getKuerzel()).thenReturn("a");
+		Mockito.when(veraltet.getGruppe()).thenReturn(GRUPPE);
+		Mockito.when(veraltet.getVersion()).thenReturn(3);
+		Mockito.when(veraltet.getDaten()).thenReturn("{\"kuerzel\":\"a\",\"name\":\"Aktuell\",\"typ\":\"EINKAUFSLISTE\",\"items\":[]}");
+		Checkliste aktuell = checkliste("b", GRUPPE);
+		Mockito.when(checklisteDao.findByKuerzel(Mockito.anyCollection())).thenReturn(Arrays.asList(veraltet, aktuell));
+
+		// Act
+		List<ChecklisteSpeicherergebnis> ergebnisse = service.changeChecklisten(Arrays.asList(daten("a", 2), daten("b", 0)),
+			userSession);
+
+		// Assert
+		assertEquals(Status.KONFLIKT, ergebnisse.get(0).getStatus());
+		assertEquals("Aktuell", ergebnisse.get(0).getDaten().getName());
+		assertEquals(3, ergebnisse.get(0).getDaten().getVersion());
+		assertEquals(Status.GEAENDERT, ergebnisse.get(1).getStatus());
+		assertEquals(1, ergebnisse.get(1).getDaten().getVersion());
+		Mockito.verify(checklisteDao).save(aktuell);
+		Mockito.verify(checklisteDao, Mockito.never()).save(veraltet);
+	}
+
+	@Test
+	void changeChecklistenFremdeGruppeSpeichertNichts() {
+
+		// Arrange
+		Mockito.when(checklisteDao.findByKuerzel(Mockito.anyCollection()))
+			.thenReturn(Arrays.asList(checkliste("a", GRUPPE), checkliste("b", "andere")));
+
+		// Act + Assert
+		assertThrows(AuthException.class,
+			() -> service.changeChecklisten(Arrays.asList(daten("a", 0), daten("b", 0)), userSession));
+		Mockito.verify(checklisteDao, Mockito.never()).save(Mockito.any());
+		Mockito.verifyNoInteractions(checklistenItemStore);
+	}
+
+	private Checkliste checkliste(final String kuerzel, final String gruppe) {
+
+		Checkliste result = Checkliste.create(Checklistentyp.EINKAUFSLISTE, "Liste " + kuerzel, kuerzel);
+		result.setGruppe(gruppe);
+		return result;
+	}
+
+	private ChecklisteDaten daten(final String kuerzel, final int version) {
+
+		ChecklisteDaten result = new ChecklisteDaten();
+		result.setKuerzel(kuerzel);
+		result.setName("Liste " + kuerzel);
+		result.setTyp(Checklistentyp.EINKAUFSLISTE);
+		result.setVersion(version);
+		return result;
+	}
+}
@@ -0,0 +1,72 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import de.egladil.web.checklistenserver.domain.UserSession;
+import de.egladil.web.commons_net.exception.SessionExpiredException;
+
+/**
+ * ChecklistenSessionServiceTest
+ */
+public class ChecklistenSessionServiceTest {
+
+	private SessionRepository sessionRepository;
+
+	private ChecklistenSessionService service;
+
+	@BeforeEach
+	void setUp() {
+
+		sessionRepository = Mockito.mock(SessionRepository.class);
+		service = new ChecklistenSessionService();
+		service.sessionRepository = sessionRepository;
+		service.refreshSlack = Duration.ofSeconds(60);
+	}
+
+	@Test
+	void validateAndTouchAbgelaufen() {
+
+		// Arrange
+		Mockito.when(sessionRepository.find("sid")).thenReturn(session(System.currentTimeMillis() - 1000));
+
+		// Act + Assert
+		assertThrows(SessionExpiredException.class, () -> service.validateAndTouch("sid"));
+		Mockito.verify(sessionRepository).expire(Mockito.eq("sid"), Mockito.anyLong());
+	}
+
+	@Test
+	void validateAndTouchWoandersVerlaengert() {
+
+		// Arrange: der Near-Cache kennt nur das alte expiresAt, eine andere Instanz hat verlängert
+		long verlaengert = System.currentTimeMillis() + 3_600_000;
+		UserSession aktuell = session(verlaengert);
+		Mockito.when(sessionRepository.find("sid")).thenReturn(session(System.currentTimeMillis() - 1000));
+		Mockito.when(sessionRepository.expire(Mockito.eq("sid"), Mockito.anyLong())).thenReturn(aktuell);
+
+		// Act
+		UserSession result = service.validateAndTouch("sid");
+
+		// Assert
+		assertSame(aktuell, result);
+		assertTrue(result.getExpiresAt() >= verlaengert);
+	}
+
+	private UserSession session(final long expiresAt) {
+
+		UserSession userSession = UserSession.create("uuid", "sid", "STANDARD", "ref");
+		userSession.setExpiresAt(expiresAt);
+		return userSession;
+	}
+}
@@ -0,0 +1,168 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.persistence.PersistenceException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import de.egladil.web.checklistenserver.config.ListeTemplateStand;
+import de.egladil.web.checklistenserver.dao.IListenvorlageDao;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+import de.egladil.web.checklistenserver.domain.Listenvorlage;
+import de.egladil.web.checklistenserver.error.ConcurrentUpdateException;
+
+/**
+ * DatabaseListeTemplateStoreTest
+ */
+public class DatabaseListeTemplateStoreTest {
+
+	private IListenvorlageDao dao;
+
+	private DatabaseListeTemplateStore store;
+
+	@BeforeEach
+	void setUp() {
+
+		dao = Mockito.mock(IListenvorlageDao.class);
+		store = new DatabaseListeTemplateStore();
+		store.listenvorlageDao = dao;
+		store.cacheTtl = Duration.ofSeconds(30);
+	}
+
+	@Test
+	void speichernLegtNeueVorlageAn() {
+
+		// Arrange
+		Mockito.when(dao.findByGruppeUndTyp("gruppe", Checklistentyp.PACKLISTE)).thenReturn(Optional.empty());
+
+		// Act
+		ListeTemplateStand stand = store.speichern(Checklistentyp.PACKLISTE, "gruppe", Arrays.asList("Zelt", "Axt"), 0);
+
+		// Assert
+		assertEquals(1, stand.getVersion());
+		assertEquals(Arrays.asList("Axt", "Zelt"), stand.getNamen());
+		Mockito.verify(dao).anlegen(Mockito.any(Listenvorlage.class));
+	}
+
+	@Test
+	void speichernNeuKonkurrierendAngelegt() {
+
+		// Arrange: eine andere Instanz war schneller, der unique key greift beim flush
+		Mockito.when(dao.findByGruppeUndTyp("gruppe", Checklistentyp.PACKLISTE)).thenReturn(Optional.empty());
+		Mockito.doThrow(new PersistenceException("Duplicate entry")).when(dao).anlegen(Mockito.any(Listenvorlage.class));
+
+		// Act + Assert
+		assertThrows(ConcurrentUpdateException.class,
+			() -> store.speichern(Checklistentyp.PACKLISTE, "gruppe", Arrays.asList("Zelt"), 0));
+	}
+
+	@Test
+	void anlegenFallsNeuMitVorhandenerVorlage() {
+
+		// Arrange
+		Listenvorlage vorhanden = Listenvorlage.create("gruppe", Checklistentyp.PACKLISTE, "Zelt");
+		Mockito.when(dao.findByGruppeUndTyp("gruppe", Checklistentyp.PACKLISTE)).thenReturn(Optional.of(vorhanden));
+
+		// Act
+		boolean angelegt = store.anlegenFallsNeu(Checklistentyp.PACKLISTE, "gruppe", Arrays.asList("Axt"));
+
+		// Assert
+		assertFalse(angelegt);
+		Mockito.verify(dao, Mockito.never()).anlegen(Mockito.any(Listenvorlage.class));
+	}
+
+	@Test
+	void anlegenFallsNeuLegtAn() {
+
+		// Arrange
+		Mockito.when(dao.findByGruppeUndTyp("gruppe", Checklistentyp.PACKLISTE)).thenReturn(Optional.empty());
+
+		// Act
+		boolean angelegt = store.anlegenFallsNeu(Checklistentyp.PACKLISTE, "gruppe", Arrays.asList("Zelt", "Axt"));
+
+		// Assert
+		assertTrue(angelegt);
+		assertEquals(Arrays.asList("Axt", "Zelt"), store.getStand(Checklistentyp.PACKLISTE, "gruppe").getNamen());
+		Mockito.verify(dao).anlegen(Mockito.any(Listenvorlage.class));
+	}
+
+	@Test
+	void speichernMitVeralteterVersion() {
+
+		// Arrange
+		Mockito.when(dao.aendern("gruppe", Checklistentyp.PACKLISTE, "Zelt", 3)).thenReturn(false);
+
+		// Act + Assert
+		assertThrows(ConcurrentUpdateException.class,
+			() -> store.speichern(Checklistentyp.PACKLISTE, "gruppe", Arrays.asList("Zelt"), 3));
+	}
+
+	@Test
+	void speichernAendertUndErhoehtVersion() {
+
+		// Arrange
+		Mockito.when(dao.aendern("gruppe", Checklistentyp.PACKLISTE, "Axt" + DatabaseListeTemplateStore.TRENNZEICHEN + "Zelt", 3))
+			.thenReturn(true);
+
+		// Act
+		ListeTemplateStand stand = store.speichern(Checklistentyp.PACKLISTE, "gruppe", Arrays.asList("Zelt", "Axt"), 3);
+
+		// Assert
+		assertEquals(4, stand.getVersion());
+		assertSame(stand, store.getStand(Checklistentyp.PACKLISTE, "gruppe"));
+		Mockito.verify(dao, Mockito.never()).findByGruppeUndTyp(Mockito.anyString(), Mockito.any());
+	}
+
+	@Test
+	void getStandWirdGecached() {
+
+		// Arrange
+		Mockito.when(dao.findByGruppeUndTyp("gruppe", Checklistentyp.EINKAUFSLISTE)).thenReturn(Optional.empty());
+
+		// Act
+		ListeTemplateStand erster = store.getStand(Checklistentyp.EINKAUFSLISTE, "gruppe");
+		ListeTemplateStand zweiter = store.getStand(Checklistentyp.EINKAUFSLISTE, "gruppe");
+
+		// Assert
+		assertSame(erster, zweiter);
+		assertEquals(0, erster.getVersion());
+		Mockito.verify(dao, Mockito.times(1)).findByGruppeUndTyp("gruppe", Checklistentyp.EINKAUFSLISTE);
+	}
+
+	@Test
+	void getStaendeLaedtAlleTypenMitEinerAbfrage() {
+
+		// Arrange
+		String namen = "Zelt" + DatabaseListeTemplateStore.TRENNZEICHEN + "Axt";
+		Mockito.when(dao.findByGruppe("gruppe"))
+			.thenReturn(Collections.singletonList(Listenvorlage.create("gruppe", Checklistentyp.PACKLISTE, namen)));
+
+		// Act
+		Map<Checklistentyp, ListeTemplateStand> staende = store.getStaende("gruppe");
+		store.getStaende("gruppe");
+
+		// Assert
+		assertEquals(2, staende.size());
+		assertEquals(Arrays.asList("Axt", "Zelt"), staende.get(Checklistentyp.PACKLISTE).getNamen());
+		assertTrue(staende.get(Checklistentyp.EINKAUFSLISTE).getNamen().isEmpty());
+		Mockito.verify(dao, Mockito.times(1)).findByGruppe("gruppe");
+		Mockito.verify(dao, Mockito.never()).findByGruppeUndTyp(Mockito.anyString(), Mockito.any());
+	}
+}
@@ -0,0 +1,132 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import de.egladil.web.checklistenserver.dao.IChecklistenpositionDao;
+import de.egladil.web.checklistenserver.domain.Checkliste;
+import de.egladil.web.checklistenserver.domain.ChecklisteDaten;
+import de.egladil.web.checklistenserver.domain.ChecklistenItem;
+import de.egladil.web.checklistenserver.domain.Checklistentyp;
+import de.egladil.web.checklistenserver.error.ChecklistenRuntimeException;
+import de.egladil.web.checklistenserver.payload.ItemOperation;
+import de.egladil.web.checklistenserver.payload.ItemOperationstyp;
+
+/**
+ * TabelleChecklistenItemStoreTest
+ */
+public class TabelleChecklistenItemStoreTest {
+
+	private IChecklistenpositionDao dao;
+
+	private TabelleChecklistenItemStore store;
+
+	private Checkliste checkliste;
+
+	private ChecklisteDaten daten;
+
+	@BeforeEach
+	void setUp() {
+
+		dao = Mockito.mock(IChecklistenpositionDao.class);
+		store = new TabelleChecklistenItemStore();
+		store.checklistenpositionDao = dao;
+
+		checkliste = Checkliste.create(Checklistentyp.EINKAUFSLISTE, "Einkauf", "kuerzel");
+		checkliste.setId(7L);
+		checkliste.setDatenFormat(Checkliste.DATEN_FORMAT_SANITIZED);
+
+		daten = new ChecklisteDaten();
+		daten.setKuerzel("kuerzel");
+		daten.setName("Einkauf");
+		daten.setTyp(Checklistentyp.EINKAUFSLISTE);
+		daten.setItems(Arrays.asList(ChecklistenItem.fromName("Milch"), ChecklistenItem.fromName("milch")));
+	}
+
+	@Test
+	void serialisierenOhneItemsUndStelltSieWiederHer() {
+
+		// Act
+		String json = store.serialisieren(daten, "Test");
+
+		// Assert
+		assertFalse(json.contains("Milch"));
+		assertEquals(2, daten.getItems().size());
+	}
+
+	@Test
+	void patchenAendertEinzelneZeilen() {
+
+		// Arrange
+		ItemOperation erledigt = ItemOperation.create(ItemOperationstyp.ERLEDIGT, "milch");
+		erledigt.setWert(true);
+		ItemOperation entfernen = ItemOperation.create(ItemOperationstyp.ENTFERNEN, "Milch");
+		Mockito.when(dao.setzeErledigt(7L, "milch", true)).thenReturn(1);
+		Mockito.when(dao.entfernen(7L, "Milch")).thenReturn(1);
+
+		// Act
+		store.patchen(checkliste, daten, Arrays.asList(erledigt, entfernen));
+
+		// Assert
+		Mockito.verify(dao).setzeErledigt(7L, "milch", true);
+		Mockito.verify(dao).entfernen(7L, "Milch");
+		Mockito.verify(dao).zaehleItems(checkliste);
+		Mockito.verify(dao, Mockito.never()).ersetzen(Mockito.anyLong(), Mockito.anyList());
+	}
+
+	@Test
+	void patchenUmbenennenOhneAenderungSchreibtNichts() {
+
+		// Arrange
+		ItemOperation umbenennen = ItemOperation.create(ItemOperationstyp.UMBENENNEN, "Milch");
+		umbenennen.setNeuerName("Milch");
+
+		// Act
+		store.patchen(checkliste, daten, Collections.singletonList(umbenennen));
+
+		// Assert
+		Mockito.verify(dao, Mockito.never()).umbenennen(Mockito.anyLong(), Mockito.anyString(), Mockito.anyString());
+	}
+
+	@Test
+	void patchenMitMehrerenGetroffenenZeilen() {
+
+		// Arrange
+		ItemOperation markiert = ItemOperation.create(ItemOperationstyp.MARKIERT, "Milch");
+		Mockito.when(dao.setzeMarkiert(7L, "Milch", false)).thenReturn(2);
+
+		// Act + Assert
+		assertThrows(ChecklistenRuntimeException.class,
+			() -> store.patchen(checkliste, daten, Collections.singletonList(markiert)));
+	}
+
+	@Test
+	void patchenRoheDatenErsetztAlleZeilen() {
+
+		// Arrange
+		checkliste.setDatenFormat(Checkliste.DATEN_FORMAT_ROH);
+		ItemOperation entfernen = ItemOperation.create(ItemOperationstyp.ENTFERNEN, "Milch");
+
+		// Act
+		store.patchen(checkliste, daten, Collections.singletonList(entfernen));
+
+		// Assert
+		Mockito.verify(dao).ersetzen(7L, daten.getItems());
+		Mockito.verify(dao, Mockito.never()).entfernen(Mockito.anyLong(), Mockito.anyString());
+		assertEquals(2, checkliste.getAnzahlItems());
+		assertTrue(checkliste.getDaten().contains("\"items\":[]"));
+	}
+}
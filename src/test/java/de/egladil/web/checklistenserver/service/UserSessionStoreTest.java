@@ -0,0 +1,82 @@
+// =====================================================
+// Project: checklistenserver
+// (c) Heike Winkelvoß
+// =====================================================
+package de.egladil.web.checklistenserver.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import de.egladil.web.checklistenserver.domain.UserSession;
+
+/**
+ * UserSessionStoreTest
+ */
+public class UserSessionStoreTest {
+
+	@Test
+	void putVerdraengtAmLaengstenNichtVerwendeteSession() {
+
+		// Arrange
+		UserSessionStore store = new UserSessionStore(2);
+		store.put(createSession("eins", 1000));
+		store.put(createSession("zwei", 1000));
+		store.get("eins");
+
+		// Act
+		store.put(createSession("drei", 1000));
+
+		// Assert
+		assertEquals(2, store.getAnzahlSessions());
+		assertNotNull(store.get("eins"));
+		assertNull(store.get("zwei"));
+		assertNotNull(store.get("drei"));
+		assertEquals(1, store.getAnzahlEvictions());
+		assertEquals(0, store.getAnzahlExpirations());
+	}
+
+	@Test
+	void evictExpiredEntferntNurAbgelaufeneSessions() {
+
+		// Arrange
+		UserSessionStore store = new UserSessionStore(10);
+		store.put(createSession("alt", 100));
+		store.put(createSession("neu", 300));
+
+		// Act
+		int anzahl = store.evictExpired(200);
+
+		// Assert
+		assertEquals(1, anzahl);
+		assertNull(store.get("alt"));
+		assertNotNull(store.get("neu"));
+		assertEquals(1, store.getAnzahlExpirations());
+		assertEquals(0, store.getAnzahlEvictions());
+	}
+
+	@Test
+	void expireZaehltNurVorhandeneSessions() {
+
+		// Arrange
+		UserSessionStore store = new UserSessionStore(10);
+		store.put(createSession("eins", 100));
+
+		// Act
+		store.expire("eins");
+		store.expire("eins");
+
+		// Assert
+		assertEquals(0, store.getAnzahlSessions());
+		assertEquals(1, store.getAnzahlExpirations());
+	}
+
+	private UserSession createSession(final String sessionId, final long expiresAt) {
+
+		UserSession result = UserSession.create("uuid-" + sessionId, sessionId, "STANDARD", "idRef");
+		result.setExpiresAt(expiresAt);
+		return result;
+	}
+}